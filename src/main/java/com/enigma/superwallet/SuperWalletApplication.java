@@ -4,9 +4,11 @@ import com.enigma.superwallet.config.CorsConfig;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @Import(CorsConfig.class)
+@EnableScheduling
 public class SuperWalletApplication {
 
 	public static void main(String[] args) {
@@ -1,5 +1,8 @@
 package com.enigma.superwallet.config;
 
+import com.enigma.superwallet.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.mail.javamail.JavaMailSender;
@@ -11,8 +14,14 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 public class BeanConfiguration {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${app.super_wallet.password.bcrypt-cost:10}") int bcryptCost,
+            @Value("${app.super_wallet.password.hashing-threads:2}") int threads,
+            @Value("${app.super_wallet.password.hashing-queue-capacity:64}") int queueCapacity,
+            @Value("${app.super_wallet.password.retry-after-seconds:1}") long retryAfterSeconds,
+            MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(bcryptCost), threads, queueCapacity,
+                retryAfterSeconds, meterRegistry);
     }
 
 }
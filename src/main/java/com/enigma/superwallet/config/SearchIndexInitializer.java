@@ -0,0 +1,45 @@
+package com.enigma.superwallet.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates the PostgreSQL-only indexes that JPA annotations cannot express. The schema is generated by
+ * Hibernate, so these are (re)applied once the application is up; every statement is idempotent.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchIndexInitializer {
+
+    private static final List<String> STATEMENTS = List.of(
+            "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+            "CREATE INDEX IF NOT EXISTS idx_customer_first_name_trgm ON m_customer USING gin (lower(first_name) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_customer_last_name_trgm ON m_customer USING gin (lower(last_name) gin_trgm_ops)"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createSearchIndexes() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) return;
+        for (String statement : STATEMENTS) {
+            try {
+                jdbcTemplate.execute(statement);
+            } catch (DataAccessException e) {
+                // without pg_trgm (e.g. no CREATE privilege) name search still works, just without the index
+                log.warn("Skipping search index: {}", e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+}
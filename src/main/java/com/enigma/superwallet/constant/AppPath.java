@@ -10,4 +10,5 @@ public class AppPath {
     public final static String TRANS = "/api/transactions";
     public final static String CURRENCY="/api/currency";
     public final static String PASSWORD="/api/reset-password";
+    public final static String STATEMENT = "/api/statements";
 }
@@ -1,20 +1,22 @@
 package com.enigma.superwallet.constant;
 
 public enum ECurrencyCode {
-    IDR("Indonesian Rupiah"),
-    EUR("European"),
-    USD("United State Dollar"),
-    JPY("Japanese Yen"),
-    CNY("Chinese Yuan"),
-    SGD("Singapore Dollar"),
-    AUD("Australian Dollar"),
-    KRW("Korean Won"),
-    MYR("Malaysian Ringgit"),
-    GBP("Great Britain Pound Sterling");
+    IDR("Indonesian Rupiah", 2),
+    EUR("European", 2),
+    USD("United State Dollar", 2),
+    JPY("Japanese Yen", 0),
+    CNY("Chinese Yuan", 2),
+    SGD("Singapore Dollar", 2),
+    AUD("Australian Dollar", 2),
+    KRW("Korean Won", 0),
+    MYR("Malaysian Ringgit", 2),
+    GBP("Great Britain Pound Sterling", 2);
 
     public final String currencyName;
+    public final int scale;
 
-    ECurrencyCode(String currencyName) {
+    ECurrencyCode(String currencyName, int scale) {
         this.currencyName = currencyName;
+        this.scale = scale;
     }
 }
@@ -0,0 +1,6 @@
+package com.enigma.superwallet.constant;
+
+public enum ELedgerDirection {
+    DEBIT,
+    CREDIT
+}
@@ -4,5 +4,6 @@ public enum ETransactionType {
     DEPOSIT,
     TRANSFER,
     WITHDRAW,
-    CHANGE_CURRENCY
+    CHANGE_CURRENCY,
+    WITHDRAWAL_REFUND
 }
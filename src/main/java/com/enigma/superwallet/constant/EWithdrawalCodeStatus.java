@@ -0,0 +1,7 @@
+package com.enigma.superwallet.constant;
+
+public enum EWithdrawalCodeStatus {
+    ISSUED,
+    REDEEMED,
+    EXPIRED
+}
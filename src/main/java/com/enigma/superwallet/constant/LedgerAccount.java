@@ -0,0 +1,9 @@
+package com.enigma.superwallet.constant;
+
+public class LedgerAccount {
+    public final static String DEPOSIT_CLEARING = "SYSTEM:DEPOSIT_CLEARING";
+    public final static String WITHDRAWAL_CLEARING = "SYSTEM:WITHDRAWAL_CLEARING";
+    public final static String FEE_INCOME = "SYSTEM:FEE_INCOME";
+    public final static String FX_POSITION = "SYSTEM:FX_POSITION";
+    public final static String OPENING_BALANCE = "SYSTEM:OPENING_BALANCE";
+}
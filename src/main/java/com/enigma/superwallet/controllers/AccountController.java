@@ -2,15 +2,21 @@ package com.enigma.superwallet.controllers;
 
 import com.enigma.superwallet.constant.AppPath;
 import com.enigma.superwallet.dto.request.AccountRequest;
+import com.enigma.superwallet.dto.response.AccountDailySummaryResponse;
 import com.enigma.superwallet.dto.response.AccountResponse;
 import com.enigma.superwallet.dto.response.DefaultResponse;
+import com.enigma.superwallet.entity.Money;
+import com.enigma.superwallet.service.AccountDailySummaryService;
 import com.enigma.superwallet.service.AccountService;
+import com.enigma.superwallet.service.LedgerService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -19,6 +25,8 @@ import java.util.List;
 public class AccountController {
 
     private final AccountService accountService;
+    private final LedgerService ledgerService;
+    private final AccountDailySummaryService accountDailySummaryService;
 
     @PostMapping
     @PreAuthorize("hasRole('ROLE_CUSTOMER')")
@@ -69,4 +77,31 @@ public class AccountController {
                         .message("Data Not Found")
                         .build());
     }
+
+    @PostMapping(value = "/{id}/rebuild-balance")
+    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_ADMIN')")
+    public ResponseEntity<?> rebuildBalance(@PathVariable String id) {
+        Money balance = ledgerService.rebuildBalance(id);
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(DefaultResponse.builder()
+                        .statusCode(HttpStatus.OK.value())
+                        .message("Balance rebuilt from ledger")
+                        .data(balance)
+                        .build());
+    }
+
+    @GetMapping(value = "/{id}/daily-summary")
+    @PreAuthorize("hasAnyRole('ROLE_CUSTOMER', 'ROLE_SUPER_ADMIN', 'ROLE_ADMIN')")
+    public ResponseEntity<?> getDailySummary(
+            @PathVariable String id,
+            @RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        List<AccountDailySummaryResponse> summaries = accountDailySummaryService.getDailySummaries(id, from, to);
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(DefaultResponse.builder()
+                        .statusCode(HttpStatus.OK.value())
+                        .message("Fetch Success")
+                        .data(summaries)
+                        .build());
+    }
 }
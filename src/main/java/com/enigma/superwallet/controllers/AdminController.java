@@ -5,6 +5,7 @@ import com.enigma.superwallet.dto.request.AdminRequest;
 import com.enigma.superwallet.dto.response.AdminResponse;
 import com.enigma.superwallet.dto.response.DefaultResponse;
 import com.enigma.superwallet.service.AdminService;
+import com.enigma.superwallet.service.ReferenceDataRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -20,6 +21,7 @@ import java.util.List;
 public class AdminController {
 
     private final AdminService adminService;
+    private final ReferenceDataRegistry referenceDataRegistry;
 
     @GetMapping
     @PreAuthorize("hasRole('ROLE_SUPER_ADMIN')")
@@ -69,4 +71,15 @@ public class AdminController {
                         .message("Delete Failed")
                         .build());
     }
+
+    @PostMapping(value = "/reference-data/refresh")
+    @PreAuthorize("hasRole('ROLE_SUPER_ADMIN')")
+    public ResponseEntity<?> refreshReferenceData() {
+        referenceDataRegistry.refresh();
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(DefaultResponse.builder()
+                        .statusCode(HttpStatus.OK.value())
+                        .message("Reference data reloaded")
+                        .build());
+    }
 }
@@ -4,10 +4,12 @@ package com.enigma.superwallet.controllers;
 import com.enigma.superwallet.constant.AppPath;
 import com.enigma.superwallet.dto.request.AuthAdminRequest;
 import com.enigma.superwallet.dto.request.LoginRequest;
+import com.enigma.superwallet.dto.request.RefreshTokenRequest;
 import com.enigma.superwallet.dto.request.RegisterRequest;
 import com.enigma.superwallet.dto.response.DefaultResponse;
 import com.enigma.superwallet.dto.response.LoginAdminResponse;
 import com.enigma.superwallet.dto.response.LoginResponse;
+import com.enigma.superwallet.dto.response.RefreshTokenResponse;
 import com.enigma.superwallet.dto.response.RegisterResponse;
 import com.enigma.superwallet.service.AuthService;
 import lombok.RequiredArgsConstructor;
@@ -36,6 +38,7 @@ public class AuthController {
                             .build());
         } catch (ResponseStatusException e) {
             return ResponseEntity.status(e.getStatusCode())
+                    .headers(e.getHeaders())
                     .body(DefaultResponse.builder()
                             .statusCode(e.getStatusCode().value())
                             .message(e.getReason())
@@ -55,6 +58,7 @@ public class AuthController {
                             .build());
         }catch (ResponseStatusException e){
             return ResponseEntity.status(e.getStatusCode())
+                    .headers(e.getHeaders())
                     .body(DefaultResponse.builder()
                             .statusCode(e.getStatusCode().value())
                             .message(e.getReason())
@@ -74,6 +78,7 @@ public class AuthController {
                             .build());
         } catch (ResponseStatusException e) {
             return ResponseEntity.status(e.getStatusCode())
+                    .headers(e.getHeaders())
                     .body(DefaultResponse.builder()
                             .statusCode(e.getStatusCode().value())
                             .message(e.getReason())
@@ -93,6 +98,27 @@ public class AuthController {
                             .build());
         } catch (ResponseStatusException e) {
             return ResponseEntity.status(e.getStatusCode())
+                    .headers(e.getHeaders())
+                    .body(DefaultResponse.builder()
+                            .statusCode(e.getStatusCode().value())
+                            .message(e.getReason())
+                            .build());
+        }
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refreshToken(@RequestBody RefreshTokenRequest refreshTokenRequest) {
+        try {
+            RefreshTokenResponse data = authService.refresh(refreshTokenRequest);
+            return ResponseEntity.status(HttpStatus.OK)
+                    .body(DefaultResponse.builder()
+                            .statusCode(HttpStatus.OK.value())
+                            .message("Token refreshed")
+                            .data(data)
+                            .build());
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode())
+                    .headers(e.getHeaders())
                     .body(DefaultResponse.builder()
                             .statusCode(e.getStatusCode().value())
                             .message(e.getReason())
@@ -113,6 +139,7 @@ public class AuthController {
                             .build());
         } catch (ResponseStatusException e) {
             return ResponseEntity.status(e.getStatusCode())
+                    .headers(e.getHeaders())
                     .body(DefaultResponse.builder()
                             .statusCode(e.getStatusCode().value())
                             .message(e.getReason())
@@ -83,6 +83,7 @@ public class CustomerController {
                             .build());
         } catch (ResponseStatusException e) {
             return ResponseEntity.status(e.getStatusCode())
+                    .headers(e.getHeaders())
                     .body(ErrorResponse.builder()
                             .statusCode(e.getStatusCode().value())
                             .message("Update Failed")
@@ -0,0 +1,61 @@
+package com.enigma.superwallet.controllers;
+
+import com.enigma.superwallet.constant.AppPath;
+import com.enigma.superwallet.dto.response.DefaultResponse;
+import com.enigma.superwallet.dto.response.ErrorResponse;
+import com.enigma.superwallet.dto.response.StatementJobResponse;
+import com.enigma.superwallet.service.StatementJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(AppPath.STATEMENT)
+public class StatementController {
+
+    private final StatementJobService statementJobService;
+
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_ADMIN')")
+    public ResponseEntity<?> startStatementJob(@RequestParam(name = "month") String month) {
+        try {
+            StatementJobResponse response = statementJobService.start(YearMonth.parse(month));
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(DefaultResponse.builder()
+                            .statusCode(HttpStatus.ACCEPTED.value())
+                            .message("Statement job started")
+                            .data(response)
+                            .build());
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ErrorResponse.builder()
+                            .statusCode(HttpStatus.BAD_REQUEST.value())
+                            .message("month must be formatted as yyyy-MM")
+                            .build());
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode())
+                    .body(ErrorResponse.builder()
+                            .statusCode(e.getStatusCode().value())
+                            .message(e.getReason())
+                            .build());
+        }
+    }
+
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_ADMIN')")
+    public ResponseEntity<?> getStatementJobStatus() {
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(DefaultResponse.builder()
+                        .statusCode(HttpStatus.OK.value())
+                        .message("Fetch Success")
+                        .data(statementJobService.status())
+                        .build());
+    }
+}
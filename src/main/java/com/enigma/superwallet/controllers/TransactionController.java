@@ -3,54 +3,153 @@ package com.enigma.superwallet.controllers;
 import com.enigma.superwallet.constant.AppPath;
 import com.enigma.superwallet.dto.request.DepositRequest;
 import com.enigma.superwallet.dto.request.TransferRequest;
+import com.enigma.superwallet.dto.request.WithdrawalRedemptionRequest;
 import com.enigma.superwallet.dto.request.WithdrawalRequest;
 import com.enigma.superwallet.dto.response.*;
+import com.enigma.superwallet.service.BulkTransferService;
+import com.enigma.superwallet.service.IdempotencyService;
 import com.enigma.superwallet.service.TransactionsService;
+import com.enigma.superwallet.service.WithdrawalCodeService;
+import com.enigma.superwallet.util.WithdrawalCodeGenerator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.function.Consumer;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping(AppPath.TRANS)
 public class TransactionController {
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final int MAX_PAGE_SIZE = 1000;
     private final TransactionsService transactionsService;
+    private final IdempotencyService idempotencyService;
+    private final BulkTransferService bulkTransferService;
+    private final WithdrawalCodeService withdrawalCodeService;
 
     @PostMapping
-    public ResponseEntity<?> deposit(@RequestBody DepositRequest depositRequest) {
+    public ResponseEntity<?> deposit(@RequestBody DepositRequest depositRequest,
+                                     @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "deposit", () -> {
+            try {
+                DepositResponse response = transactionsService.deposit(depositRequest);
+                return ResponseEntity.status(HttpStatus.OK)
+                        .body(DefaultResponse.builder()
+                                .statusCode(HttpStatus.OK.value())
+                                .message("Successfully added balance to account")
+                                .data(response)
+                                .build());
+            } catch (ResponseStatusException e) {
+                return ResponseEntity.status(e.getStatusCode())
+                        .body(DefaultResponse.builder()
+                                .statusCode(e.getStatusCode().value())
+                                .message(e.getReason())
+                                .build());
+            }
+        });
+    }
+
+    @PostMapping("/send")
+    public ResponseEntity<?> transferToAccount(@RequestBody TransferRequest transferRequest,
+                                               @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey){
+        return idempotencyService.execute(idempotencyKey, "send", () -> {
+            try {
+                TransferResponse data = transactionsService.transferBetweenAccount(transferRequest);
+                return ResponseEntity.status(HttpStatus.OK)
+                        .body(DefaultResponse.builder()
+                                .statusCode(HttpStatus.OK.value())
+                                .message("Successfully sending money")
+                                .data(data)
+                                .build());
+            }catch (ResponseStatusException e){
+                return ResponseEntity.status(e.getStatusCode())
+                        .body(ErrorResponse.builder()
+                                .statusCode(e.getStatusCode().value())
+                                .message(e.getReason())
+                                .build());
+            }
+        });
+    }
+
+    @PostMapping("/withdrawal")
+    public ResponseEntity<?> withdrawal(@RequestBody WithdrawalRequest withdrawalRequest,
+                                        @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, "withdrawal", () -> {
+            try {
+                WithdrawalResponse response = transactionsService.withdraw(withdrawalRequest);
+                return ResponseEntity.status(HttpStatus.OK)
+                        .body(DefaultResponse.builder()
+                                .statusCode(HttpStatus.OK.value())
+                                .message("Successfully withdrawn from account")
+                                .data(response)
+                                .build());
+            } catch (ResponseStatusException e) {
+                return ResponseEntity.status(e.getStatusCode())
+                        .body(DefaultResponse.builder()
+                                .statusCode(e.getStatusCode().value())
+                                .message(e.getReason())
+                                .build());
+            }
+        }, this::maskWithdrawalCode);
+    }
+
+    // only the first response carries the plaintext code; the stored replay copy is masked like the history row
+    private Object maskWithdrawalCode(Object body) {
+        if (body instanceof DefaultResponse<?> response && response.getData() instanceof WithdrawalResponse withdrawal) {
+            return DefaultResponse.builder()
+                    .statusCode(response.getStatusCode())
+                    .message(response.getMessage())
+                    .data(withdrawal.toBuilder().withdrawalCode(WithdrawalCodeGenerator.mask(withdrawal.getWithdrawalCode())).build())
+                    .build();
+        }
+        return body;
+    }
+
+    @PostMapping("/withdrawal/redeem")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN','ROLE_SUPER_ADMIN')")
+    public ResponseEntity<?> redeemWithdrawal(@RequestBody WithdrawalRedemptionRequest request) {
         try {
-            DepositResponse response = transactionsService.deposit(depositRequest);
+            WithdrawalRedemptionResponse response = withdrawalCodeService.redeem(request.getWithdrawalCode());
             return ResponseEntity.status(HttpStatus.OK)
                     .body(DefaultResponse.builder()
                             .statusCode(HttpStatus.OK.value())
-                            .message("Successfully added balance to account")
+                            .message("Withdrawal code redeemed")
                             .data(response)
                             .build());
         } catch (ResponseStatusException e) {
             return ResponseEntity.status(e.getStatusCode())
-                    .body(DefaultResponse.builder()
+                    .body(ErrorResponse.builder()
                             .statusCode(e.getStatusCode().value())
                             .message(e.getReason())
                             .build());
         }
     }
 
-    @PostMapping("/send")
-    public ResponseEntity<?> transferToAccount(@RequestBody TransferRequest transferRequest){
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN','ROLE_SUPER_ADMIN')")
+    public ResponseEntity<?> bulkTransfer(@RequestBody List<TransferRequest> transferRequests) {
         try {
-            TransferResponse data = transactionsService.transferBetweenAccount(transferRequest);
+            BulkTransferResponse response = bulkTransferService.transfer(transferRequests);
             return ResponseEntity.status(HttpStatus.OK)
                     .body(DefaultResponse.builder()
                             .statusCode(HttpStatus.OK.value())
-                            .message("Successfully sending money")
-                            .data(data)
+                            .message("Bulk transfer processed")
+                            .data(response)
                             .build());
-        }catch (ResponseStatusException e){
+        } catch (ResponseStatusException e) {
             return ResponseEntity.status(e.getStatusCode())
                     .body(ErrorResponse.builder()
                             .statusCode(e.getStatusCode().value())
@@ -59,23 +158,59 @@ public class TransactionController {
         }
     }
 
-    @PostMapping("/withdrawal")
-    public ResponseEntity<?> withdrawal(@RequestBody WithdrawalRequest withdrawalRequest) {
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN','ROLE_SUPER_ADMIN')")
+    public ResponseEntity<?> bulkTransferCsv(InputStream csv) {
         try {
-            WithdrawalResponse response = transactionsService.withdraw(withdrawalRequest);
+            BulkTransferResponse response = bulkTransferService.transferCsv(csv);
             return ResponseEntity.status(HttpStatus.OK)
                     .body(DefaultResponse.builder()
                             .statusCode(HttpStatus.OK.value())
-                            .message("Successfully withdrawn from account")
+                            .message("Bulk transfer processed")
                             .data(response)
                             .build());
         } catch (ResponseStatusException e) {
             return ResponseEntity.status(e.getStatusCode())
-                    .body(DefaultResponse.builder()
+                    .body(ErrorResponse.builder()
+                            .statusCode(e.getStatusCode().value())
+                            .message(e.getReason())
+                            .build());
+        }
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('ROLE_SUPER_ADMIN', 'ROLE_ADMIN')")
+    public ResponseEntity<?> exportTransactionsHistory(
+            @RequestParam(name = "name", required = false) String name,
+            @RequestParam(name = "type", required = false) String type,
+            @RequestParam(name = "fromDate", required = false) Long fromDate,
+            @RequestParam(name = "toDate", required = false) Long toDate,
+            @RequestParam(name = "format", required = false, defaultValue = "csv") String format
+    ) {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ErrorResponse.builder()
+                            .statusCode(HttpStatus.BAD_REQUEST.value())
+                            .message("format must be csv or ndjson")
+                            .build());
+        }
+        Consumer<OutputStream> export;
+        try {
+            // validated before the body is returned, once streaming starts the 200 is already committed
+            export = transactionsService.exportTransferHistories(name, type, fromDate, toDate, format);
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode())
+                    .body(ErrorResponse.builder()
                             .statusCode(e.getStatusCode().value())
                             .message(e.getReason())
                             .build());
         }
+        StreamingResponseBody body = export::accept;
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"transactions." + (csv ? "csv" : "ndjson") + "\"")
+                .body(body);
     }
 
 @GetMapping
@@ -85,9 +220,51 @@ public ResponseEntity<?>getTransactionsHistory(
         @RequestParam(name = "fromDate",required = false) Long fromDate,
         @RequestParam(name = "toDate",required = false) Long toDate,
         @RequestParam(name = "page", required = false, defaultValue = "0") Integer page,
-        @RequestParam(name = "size", required = false, defaultValue = "5") Integer size
+        @RequestParam(name = "size", required = false, defaultValue = "5") Integer size,
+        @RequestParam(name = "paging", required = false, defaultValue = "offset") String paging,
+        @RequestParam(name = "cursor", required = false) String cursor
 ){
         try {
+            if (size == null || size < 1 || size > MAX_PAGE_SIZE) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be between 1 and " + MAX_PAGE_SIZE);
+            }
+            if ("cursor".equalsIgnoreCase(paging)) {
+                CursorPageResponse<TransferHistoryResponse> cursorPage =
+                        transactionsService.getTransferHistoriesByCursor(name, type, fromDate, toDate, cursor, size);
+                return ResponseEntity.status(HttpStatus.OK)
+                        .body(CommonResponse.builder()
+                                .statusCode(HttpStatus.OK.value())
+                                .message("Successfully getting data")
+                                .data(cursorPage.getContent())
+                                .pagingResponse(PagingResponse.builder()
+                                        .size(cursorPage.getSize())
+                                        .hasNext(cursorPage.getHasNext())
+                                        .nextCursor(cursorPage.getNextCursor())
+                                        .build())
+                                .build());
+            }
+            if ("slice".equalsIgnoreCase(paging) || "approximate".equalsIgnoreCase(paging)) {
+                Slice<TransferHistoryResponse> slice =
+                        transactionsService.getTransferHistoriesSlice(name, type, fromDate, toDate, page, size);
+                PagingResponse pagingResponse = PagingResponse.builder()
+                        .currentPage(slice.getNumber())
+                        .size(slice.getSize())
+                        .hasNext(slice.hasNext())
+                        .build();
+                if ("approximate".equalsIgnoreCase(paging)) {
+                    long totalItem = transactionsService.approximateTransferHistoryCount(name, type, fromDate, toDate);
+                    pagingResponse.setTotalItem(totalItem);
+                    pagingResponse.setTotalPage((int) ((totalItem + size - 1) / size));
+                    pagingResponse.setApproximateTotal(true);
+                }
+                return ResponseEntity.status(HttpStatus.OK)
+                        .body(CommonResponse.builder()
+                                .statusCode(HttpStatus.OK.value())
+                                .message("Successfully getting data")
+                                .data(slice.getContent())
+                                .pagingResponse(pagingResponse)
+                                .build());
+            }
             Page<TransferHistoryResponse> dataResponse = transactionsService.getTransferHistoriesPaging(name, type, fromDate, toDate, page, size);
             PagingResponse pagingResponse = new PagingResponse();
 
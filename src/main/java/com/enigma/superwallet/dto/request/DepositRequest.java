@@ -1,11 +1,14 @@
 package com.enigma.superwallet.dto.request;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -20,6 +23,6 @@ public class DepositRequest {
     @NotBlank
     private String pin;
 
-    @NotBlank
-    private Double amount;
+    @NotNull
+    private BigDecimal amount;
 }
@@ -1,11 +1,14 @@
 package com.enigma.superwallet.dto.request;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -15,6 +18,6 @@ public class DummyBankRequest {
     private String bankNumber;
     @NotBlank
     private String cvv;
-    @NotBlank
-    private Double balance;
+    @NotNull
+    private BigDecimal balance;
 }
@@ -5,12 +5,14 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder(toBuilder = true)
 public class TransferRequest {
     private String fromNumber;
-    private Double amountTransfer;
+    private BigDecimal amountTransfer;
     private String toNumber;
 }
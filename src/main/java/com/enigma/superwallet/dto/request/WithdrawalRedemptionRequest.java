@@ -0,0 +1,14 @@
+package com.enigma.superwallet.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+public class WithdrawalRedemptionRequest {
+    private String withdrawalCode;
+}
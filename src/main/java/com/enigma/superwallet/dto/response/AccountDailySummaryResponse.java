@@ -0,0 +1,22 @@
+package com.enigma.superwallet.dto.response;
+
+import com.enigma.superwallet.entity.Money;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+public class AccountDailySummaryResponse {
+    private LocalDate date;
+    private String transactionType;
+    private Long count;
+    private Money sumIn;
+    private Money sumOut;
+    private Money fees;
+}
@@ -2,6 +2,7 @@ package com.enigma.superwallet.dto.response;
 
 import com.enigma.superwallet.entity.Currency;
 import com.enigma.superwallet.entity.Customer;
+import com.enigma.superwallet.entity.Money;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -16,5 +17,5 @@ public class AccountResponse {
     private Customer customer;
     private String accountNumber;
     private Currency currency;
-    private Double balance;
+    private Money balance;
 }
@@ -0,0 +1,19 @@
+package com.enigma.superwallet.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+public class BulkTransferResponse {
+    private Integer totalRows;
+    private Integer succeeded;
+    private Integer failed;
+    private List<BulkTransferRowResponse> rows;
+}
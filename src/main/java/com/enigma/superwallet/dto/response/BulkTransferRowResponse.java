@@ -0,0 +1,22 @@
+package com.enigma.superwallet.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkTransferRowResponse {
+    private Integer row;
+    private String fromNumber;
+    private String toNumber;
+    private String amount;
+    private String status;
+    private String message;
+    private String transactionId;
+}
@@ -11,5 +11,6 @@ import lombok.NoArgsConstructor;
 @Builder(toBuilder = true)
 public class LoginAdminResponse {
     private String token;
+    private String refreshToken;
     private String role;
 }
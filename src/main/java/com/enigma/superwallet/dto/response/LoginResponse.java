@@ -14,6 +14,7 @@ public class LoginResponse {
     private String firstName;
     private String lastName;
     private String token;
+    private String refreshToken;
 
     private String role;
 }
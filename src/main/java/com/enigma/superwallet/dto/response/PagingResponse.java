@@ -18,4 +18,7 @@ public class PagingResponse {
     private Integer totalPage;
     private Integer size;
     private Long totalItem;
+    private Boolean approximateTotal;
+    private Boolean hasNext;
+    private String nextCursor;
 }
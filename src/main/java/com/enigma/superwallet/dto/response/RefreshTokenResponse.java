@@ -0,0 +1,16 @@
+package com.enigma.superwallet.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+public class RefreshTokenResponse {
+    private String token;
+    private String refreshToken;
+    private String role;
+}
@@ -0,0 +1,26 @@
+package com.enigma.superwallet.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StatementJobResponse {
+    private String month;
+    private String status;
+    private Integer totalAccounts;
+    private Integer written;
+    private Integer skipped;
+    private Integer failed;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String message;
+}
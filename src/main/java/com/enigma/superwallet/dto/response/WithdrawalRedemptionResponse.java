@@ -0,0 +1,19 @@
+package com.enigma.superwallet.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+public class WithdrawalRedemptionResponse {
+    private String transactionId;
+    private String accountId;
+    private String totalAmount;
+    private LocalDateTime redeemedAt;
+}
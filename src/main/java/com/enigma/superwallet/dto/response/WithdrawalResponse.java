@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -13,4 +15,5 @@ public class WithdrawalResponse {
     private String transactionId;
     private String withdrawalCode;
     private String totalAmount;
+    private LocalDateTime expiresAt;
 }
@@ -1,5 +1,6 @@
 package com.enigma.superwallet.entity;
 
+import com.enigma.superwallet.util.UuidV7Id;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -12,11 +13,12 @@ import java.util.List;
 @Setter
 @Builder(toBuilder = true)
 @Entity
-@Table(name = "m_account")
+@Table(name = "m_account", indexes = @Index(name = "idx_account_customer", columnList = "customer_id"))
 public class Account {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7Id
+    @Column(columnDefinition = "uuid")
     private String id;
 
     @Column(name = "created_at", nullable = false)
@@ -39,8 +41,8 @@ public class Account {
     @Column
     private String pin;
 
-    @Column(columnDefinition =  "DOUBLE PRECISION CHECK (balance >= 0)")
-    private Double balance;
+    @Column(columnDefinition = "BIGINT CHECK (balance >= 0)")
+    private Long balance;
 
     @ManyToOne
     @JoinColumn(name = "customer_id")
@@ -0,0 +1,49 @@
+package com.enigma.superwallet.entity;
+
+import com.enigma.superwallet.constant.ECurrencyCode;
+import com.enigma.superwallet.constant.ETransactionType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder(toBuilder = true)
+@Entity
+@Table(name = "t_account_daily_summary", uniqueConstraints = @UniqueConstraint(
+        name = "uk_account_daily_summary", columnNames = {"account_id", "summary_date", "currency", "transaction_type"}))
+public class AccountDailySummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @Column(name = "summary_date", nullable = false)
+    private LocalDate summaryDate;
+
+    @Column(name = "account_id", nullable = false)
+    private String accountId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 3)
+    private ECurrencyCode currency;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false)
+    private ETransactionType transactionType;
+
+    @Column(name = "tx_count", nullable = false)
+    private Long txCount;
+
+    @Column(name = "sum_in", nullable = false)
+    private Long sumIn;
+
+    @Column(name = "sum_out", nullable = false)
+    private Long sumOut;
+
+    @Column(nullable = false)
+    private Long fees;
+}
@@ -23,6 +23,8 @@ public class AppUser implements UserDetails {
     private String email;
     private String password;
     private ERole role;
+    // taken from the verified token, empty for admins
+    private String customerId;
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
@@ -38,7 +40,8 @@ public class AppUser implements UserDetails {
 
     @Override
     public String getUsername() {
-        return email;
+        // stateless principals are built from the token alone and only know the subject
+        return email != null ? email : id;
     }
 
     @Override
@@ -0,0 +1,32 @@
+package com.enigma.superwallet.entity;
+
+import com.enigma.superwallet.constant.ECurrencyCode;
+import jakarta.persistence.*;
+import lombok.*;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder(toBuilder = true)
+@Entity
+@Table(name = "t_balance_checkpoint")
+public class BalanceCheckpoint {
+
+    @Id
+    private String id;
+
+    @Column(name = "account_ref", nullable = false)
+    private String accountRef;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 3)
+    private ECurrencyCode currency;
+
+    @Column(nullable = false)
+    private Long balance;
+
+    // covers every entry with tx_id below this, all of them written by transactions that had finished
+    @Column(name = "tx_horizon", nullable = false)
+    private Long txHorizon;
+}
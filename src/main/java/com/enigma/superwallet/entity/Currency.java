@@ -18,7 +18,7 @@ public class Currency {
     private String id;
 
     @Enumerated(EnumType.STRING)
-    @Column(nullable = false)
+    @Column(nullable = false, unique = true)
     private ECurrencyCode code;
 
     @Column(nullable = false)
@@ -0,0 +1,49 @@
+package com.enigma.superwallet.entity;
+
+import com.enigma.superwallet.constant.ECurrencyCode;
+import com.enigma.superwallet.constant.ELedgerDirection;
+import jakarta.persistence.*;
+import lombok.*;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder(toBuilder = true)
+@Entity
+@Table(name = "t_ledger_entry", indexes = {
+        @Index(name = "idx_ledger_entry_account_created", columnList = "account_ref, currency, created_at"),
+        @Index(name = "idx_ledger_entry_movement", columnList = "movement_id"),
+        @Index(name = "idx_ledger_entry_created", columnList = "created_at"),
+        @Index(name = "idx_ledger_entry_account_tx", columnList = "account_ref, currency, tx_id")
+})
+public class LedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @Column(name = "movement_id", nullable = false)
+    private String movementId;
+
+    @Column(name = "account_ref", nullable = false)
+    private String accountRef;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 3)
+    private ECurrencyCode currency;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 6)
+    private ELedgerDirection direction;
+
+    @Column(nullable = false, columnDefinition = "BIGINT CHECK (amount > 0)")
+    private Long amount;
+
+    @Column(name = "created_at", nullable = false)
+    private Long createdAt;
+
+    // id of the writing transaction; every id below the snapshot xmin belongs to a finished transaction
+    @Column(name = "tx_id", nullable = false)
+    private Long txId;
+}
@@ -0,0 +1,79 @@
+package com.enigma.superwallet.entity;
+
+import com.enigma.superwallet.constant.ECurrencyCode;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Amount held as a whole number of minor units (e.g. cents) of its currency.
+ * Balances and history amounts are persisted as BIGINT minor units; the static
+ * helpers let hot paths work on plain longs without creating instances.
+ */
+@JsonSerialize(using = Money.Serializer.class)
+public record Money(long minorUnits, ECurrencyCode currency) {
+
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L};
+
+    public static Money of(long minorUnits, ECurrencyCode currency) {
+        return new Money(minorUnits, currency);
+    }
+
+    public static long majorToMinor(long majorUnits, ECurrencyCode currency) {
+        return Math.multiplyExact(majorUnits, POWERS_OF_TEN[currency.scale]);
+    }
+
+    /**
+     * @throws ArithmeticException if the amount has more decimals than the currency allows or overflows a long
+     */
+    public static long toMinorUnits(BigDecimal amount, ECurrencyCode currency) {
+        return amount.setScale(currency.scale, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    public static long convert(long minorUnits, ECurrencyCode from, ECurrencyCode to, double rate) {
+        double converted = minorUnits * rate;
+        int shift = to.scale - from.scale;
+        if (shift > 0) {
+            converted *= POWERS_OF_TEN[shift];
+        } else if (shift < 0) {
+            converted /= POWERS_OF_TEN[-shift];
+        }
+        return Math.round(converted);
+    }
+
+    public static BigDecimal toBigDecimal(long minorUnits, ECurrencyCode currency) {
+        return BigDecimal.valueOf(minorUnits, currency.scale);
+    }
+
+    public static String format(long minorUnits, ECurrencyCode currency) {
+        long unit = POWERS_OF_TEN[currency.scale];
+        if (minorUnits % unit == 0) {
+            return Long.toString(minorUnits / unit);
+        }
+        return toBigDecimal(minorUnits, currency).toPlainString();
+    }
+
+    public BigDecimal toBigDecimal() {
+        return toBigDecimal(minorUnits, currency);
+    }
+
+    public String format() {
+        return format(minorUnits, currency);
+    }
+
+    public static class Serializer extends StdSerializer<Money> {
+        public Serializer() {
+            super(Money.class);
+        }
+
+        @Override
+        public void serialize(Money value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeNumber(value.toBigDecimal());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.enigma.superwallet.entity;
+
+import com.enigma.superwallet.constant.ERole;
+import jakarta.persistence.*;
+import lombok.*;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder(toBuilder = true)
+@Entity
+@Table(name = "t_refresh_token", indexes = {
+        @Index(name = "idx_refresh_token_hash", columnList = "token_hash", unique = true),
+        @Index(name = "idx_refresh_token_family", columnList = "family_id"),
+        @Index(name = "idx_refresh_token_user", columnList = "user_id"),
+        @Index(name = "idx_refresh_token_expires_at", columnList = "expires_at")
+})
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    // SHA-256 of the opaque token handed to the client
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    // every token rotated out of the same login shares a family, so a replay can revoke the whole chain
+    @Column(name = "family_id", nullable = false)
+    private String familyId;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "customer_id")
+    private String customerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ERole role;
+
+    @Column(name = "created_at", nullable = false)
+    private Long createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Long expiresAt;
+
+    @Column(name = "used_at")
+    private Long usedAt;
+
+    @Column(nullable = false)
+    private Boolean revoked;
+}
@@ -18,6 +18,6 @@ public class Role {
     private String id;
 
     @Enumerated(EnumType.STRING)
-    @Column(name = "role_name", length = 20)
+    @Column(name = "role_name", length = 20, unique = true)
     private ERole roleName;
 }
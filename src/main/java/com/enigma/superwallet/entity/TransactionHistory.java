@@ -1,5 +1,6 @@
 package com.enigma.superwallet.entity;
 
+import com.enigma.superwallet.util.UuidV7Id;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -11,33 +12,59 @@ import java.time.LocalDateTime;
 @Setter
 @Builder(toBuilder = true)
 @Entity
-@Table(name = "t_transaction_history")
+@NamedEntityGraph(name = TransactionHistory.DETAILS_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode(value = "sourceAccount", subgraph = "account"),
+                @NamedAttributeNode(value = "destinationAccount", subgraph = "account"),
+                @NamedAttributeNode("transactionType")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "account", attributeNodes = {
+                        @NamedAttributeNode(value = "customer", subgraph = "customer"),
+                        @NamedAttributeNode("currency")
+                }),
+                @NamedSubgraph(name = "customer", attributeNodes = {
+                        @NamedAttributeNode(value = "userCredential", subgraph = "userCredential"),
+                        @NamedAttributeNode("dummyBank"),
+                        @NamedAttributeNode("profilePicture")
+                }),
+                @NamedSubgraph(name = "userCredential", attributeNodes = @NamedAttributeNode("role"))
+        })
+@Table(name = "t_transaction_history", indexes = {
+        @Index(name = "idx_transaction_history_date_id", columnList = "transaction_date DESC, id DESC"),
+        @Index(name = "idx_transaction_history_source_date", columnList = "source_account_id, transaction_date"),
+        @Index(name = "idx_transaction_history_type_date", columnList = "transaction_type_id, transaction_date")
+})
 public class TransactionHistory {
 
+    // every to-one on the path is eager, so the graph covers all of them to keep a page in one statement
+    public static final String DETAILS_GRAPH = "TransactionHistory.details";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7Id
+    @Column(columnDefinition = "uuid")
     private String id;
 
     @Column(name = "transaction_date", nullable = false)
     private Long transactionDate;
 
     @ManyToOne
-    @JoinColumn(name = "source_account_id", nullable = false)
+    @JoinColumn(name = "source_account_id", nullable = false, columnDefinition = "uuid")
     private Account sourceAccount;
 
     @ManyToOne
-    @JoinColumn(name = "destination_account_id", nullable = false)
+    @JoinColumn(name = "destination_account_id", nullable = false, columnDefinition = "uuid")
     private Account destinationAccount;
 
-    @Column(nullable = false, columnDefinition = "DOUBLE PRECISION CHECK (amount > 0)")
-    private Double amount;
+    @Column(nullable = false, columnDefinition = "BIGINT CHECK (amount > 0)")
+    private Long amount;
 
     @ManyToOne
     @JoinColumn(name = "transaction_type_id")
     private TransactionType transactionType;
 
-    @Column(nullable = false, columnDefinition = "DOUBLE PRECISION CHECK (fee >= 0)")
-    private Double fee;
+    @Column(nullable = false, columnDefinition = "BIGINT CHECK (fee >= 0)")
+    private Long fee;
 
     @Column(name = "withdrawal_code", columnDefinition = "VARCHAR(255) DEFAULT ''")
     private String withdrawalCode;
@@ -18,7 +18,7 @@ public class TransactionType {
     private String id;
 
     @Enumerated(EnumType.STRING)
-    @Column(name = "transaction_type")
+    @Column(name = "transaction_type", unique = true)
     private ETransactionType transactionType;
 
 }
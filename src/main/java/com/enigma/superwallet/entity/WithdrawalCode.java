@@ -0,0 +1,53 @@
+package com.enigma.superwallet.entity;
+
+import com.enigma.superwallet.constant.ECurrencyCode;
+import com.enigma.superwallet.constant.EWithdrawalCodeStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder(toBuilder = true)
+@Entity
+@Table(name = "t_withdrawal_code", indexes = {
+        @Index(name = "idx_withdrawal_code_hash", columnList = "code_hash", unique = true),
+        @Index(name = "idx_withdrawal_code_status_expires_at", columnList = "status, expires_at")
+})
+public class WithdrawalCode {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    // SHA-256 of the code; the code itself is only ever shown to the customer once
+    @Column(name = "code_hash", nullable = false, length = 64)
+    private String codeHash;
+
+    @Column(name = "transaction_id", nullable = false)
+    private String transactionId;
+
+    @Column(name = "account_id", nullable = false)
+    private String accountId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 3)
+    private ECurrencyCode currency;
+
+    @Column(nullable = false, columnDefinition = "BIGINT CHECK (amount > 0)")
+    private Long amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private EWithdrawalCodeStatus status;
+
+    @Column(name = "created_at", nullable = false)
+    private Long createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Long expiresAt;
+
+    @Column(name = "closed_at")
+    private Long closedAt;
+}
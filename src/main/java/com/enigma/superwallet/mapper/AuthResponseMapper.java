@@ -33,20 +33,22 @@ public class AuthResponseMapper {
                 .build();
     }
 
-    public static LoginResponse mapToLoginResponse(Optional<Customer> customerOpt, ERole role, String token) {
+    public static LoginResponse mapToLoginResponse(Optional<Customer> customerOpt, ERole role, String token, String refreshToken) {
         Customer customer = customerOpt.orElseThrow(() -> new IllegalArgumentException("Customer not found"));
         return LoginResponse.builder()
                 .email(customer.getUserCredential().getEmail())
                 .firstName(customer.getFirstName())
                 .lastName(customer.getLastName())
                 .token(token)
+                .refreshToken(refreshToken)
                 .role(role.name())
                 .build();
     }
 
-    public static LoginAdminResponse mapToLoginAdminsResponse(AppUser appUser,String token){
+    public static LoginAdminResponse mapToLoginAdminsResponse(AppUser appUser,String token, String refreshToken){
         return LoginAdminResponse.builder()
                 .token(token)
+                .refreshToken(refreshToken)
                 .role(appUser.getRole().name())
                 .build();
     }
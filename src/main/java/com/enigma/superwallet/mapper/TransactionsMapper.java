@@ -9,12 +9,12 @@ import com.enigma.superwallet.entity.Account;
 import com.enigma.superwallet.entity.TransactionHistory;
 import com.enigma.superwallet.entity.TransactionType;
 
-import java.math.BigDecimal;
 import java.time.Instant;
+import java.time.LocalDateTime;
 
 public class TransactionsMapper {
 
-    public static TransactionHistory mapToTransactionHistory(double amount, AccountResponse sender, AccountResponse receiver, TransactionType type, String withdrawalCode, double fee) {
+    public static TransactionHistory mapToTransactionHistory(long amount, AccountResponse sender, AccountResponse receiver, TransactionType type, String withdrawalCode, long fee) {
         return TransactionHistory.builder()
                 .transactionDate(Instant.now().toEpochMilli())
                 .sourceAccount(mapToAccount(sender))
@@ -26,7 +26,7 @@ public class TransactionsMapper {
                 .build();
     }
 
-    public static TransactionHistory mapToTransactionHistory(double amount, AccountResponse account, TransactionType type, String withdrawalCode, double fee) {
+    public static TransactionHistory mapToTransactionHistory(long amount, AccountResponse account, TransactionType type, String withdrawalCode, long fee) {
         return TransactionHistory.builder()
                 .transactionDate(Instant.now().toEpochMilli())
                 .sourceAccount(mapToAccount(account))
@@ -45,7 +45,7 @@ public class TransactionsMapper {
     }
 
     public static TransferResponse mapToTransferResponse
-            (AccountResponse sender, AccountResponse receiver, String formattedAmount, BigDecimal totalFee){
+            (AccountResponse sender, AccountResponse receiver, String formattedAmount, String formattedFee){
         return TransferResponse.builder()
                 .from(sender.getCustomer().getFirstName() + sender.getCustomer().getLastName())
                 .fromNumber(sender.getAccountNumber())
@@ -54,7 +54,7 @@ public class TransactionsMapper {
                 .toNumber(receiver.getAccountNumber())
                 .toCurrency(receiver.getCurrency().getCode().toString())
                 .totalAmount(formattedAmount)
-                .fee(String.valueOf(totalFee))
+                .fee(formattedFee)
                 .build();
     }
     public static DepositResponse mapToDepositResponse(TransactionHistory transactionHistory, AccountResponse account, String formattedAmount, String formattedNewBalance) {
@@ -68,11 +68,12 @@ public class TransactionsMapper {
                 .build();
     }
 
-    public static WithdrawalResponse mapToWithdrawalResponse(TransactionHistory transactionHistory, String withdrawalCode) {
+    public static WithdrawalResponse mapToWithdrawalResponse(TransactionHistory transactionHistory, String withdrawalCode, String formattedAmount, LocalDateTime expiresAt) {
         return WithdrawalResponse.builder()
                 .transactionId(transactionHistory.getId())
                 .withdrawalCode(withdrawalCode)
-                .totalAmount(transactionHistory.getAmount().toString())
+                .totalAmount(formattedAmount)
+                .expiresAt(expiresAt)
                 .build();
     }
 }
@@ -0,0 +1,14 @@
+package com.enigma.superwallet.repository;
+
+import com.enigma.superwallet.entity.AccountDailySummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface AccountDailySummaryRepository extends JpaRepository<AccountDailySummary, String> {
+    List<AccountDailySummary> findByAccountIdAndSummaryDateBetweenOrderBySummaryDateAscTransactionTypeAsc(
+            String accountId, LocalDate from, LocalDate to);
+}
@@ -1,13 +1,46 @@
 package com.enigma.superwallet.repository;
 
+import com.enigma.superwallet.constant.ECurrencyCode;
 import com.enigma.superwallet.entity.Account;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, String> {
     Optional<Account>findAccountByCustomerIdAndPin(String userId,String Pin);
     Account findByAccountNumber(String accountNumber);
+
+    @Query("SELECT a.balance FROM Account a WHERE a.id = :id")
+    Long findBalanceById(@Param("id") String id);
+
+    List<Account> findByAccountNumberIn(Collection<String> accountNumbers);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id = :id")
+    Optional<Account> findByIdForUpdate(@Param("id") String id);
+
+    @Modifying
+    @Query("UPDATE Account a SET a.balance = a.balance - :amount, a.updatedAt = :updatedAt " +
+            "WHERE a.id = :id AND a.balance >= :amount")
+    int debitBalance(@Param("id") String id, @Param("amount") Long amount, @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Query("UPDATE Account a SET a.balance = a.balance + :amount, a.updatedAt = :updatedAt WHERE a.id = :id")
+    int creditBalance(@Param("id") String id, @Param("amount") Long amount, @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Query("UPDATE Account a SET a.balance = a.balance + :amount, a.updatedAt = :updatedAt " +
+            "WHERE a.id = :id AND a.currency IN (SELECT c FROM Currency c WHERE c.code = :code)")
+    int creditBalanceInCurrency(@Param("id") String id, @Param("amount") Long amount,
+                                @Param("code") ECurrencyCode code, @Param("updatedAt") LocalDateTime updatedAt);
 }
@@ -0,0 +1,32 @@
+package com.enigma.superwallet.repository;
+
+import com.enigma.superwallet.entity.BalanceCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BalanceCheckpointRepository extends JpaRepository<BalanceCheckpoint, String> {
+
+    // idle accounts keep their older horizon, which stays correct and saves rewriting every row each run
+    @Modifying
+    @Query(nativeQuery = true, value = "UPDATE t_balance_checkpoint c SET " +
+            "balance = c.balance + (SELECT COALESCE(SUM(CASE WHEN e.direction = 'CREDIT' THEN e.amount ELSE -e.amount END), 0) " +
+            "FROM t_ledger_entry e WHERE e.account_ref = c.account_ref AND e.currency = c.currency " +
+            "AND e.tx_id >= c.tx_horizon AND e.tx_id < :horizon), " +
+            "tx_horizon = :horizon WHERE c.tx_horizon < :horizon AND EXISTS (SELECT 1 FROM t_ledger_entry e " +
+            "WHERE e.account_ref = c.account_ref AND e.currency = c.currency " +
+            "AND e.tx_id >= c.tx_horizon AND e.tx_id < :horizon)")
+    int advanceCheckpoints(@Param("horizon") long horizon);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "INSERT INTO t_balance_checkpoint (id, account_ref, currency, balance, tx_horizon) " +
+            "SELECT e.account_ref || ':' || e.currency, e.account_ref, e.currency, " +
+            "SUM(CASE WHEN e.direction = 'CREDIT' THEN e.amount ELSE -e.amount END), :horizon " +
+            "FROM t_ledger_entry e WHERE e.tx_id < :horizon AND NOT EXISTS (" +
+            "SELECT 1 FROM t_balance_checkpoint c WHERE c.account_ref = e.account_ref AND c.currency = e.currency) " +
+            "GROUP BY e.account_ref, e.currency ON CONFLICT (id) DO NOTHING")
+    int createMissingCheckpoints(@Param("horizon") long horizon);
+}
@@ -2,8 +2,15 @@ package com.enigma.superwallet.repository;
 
 import com.enigma.superwallet.entity.DummyBank;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface DummyBankRepository extends JpaRepository<DummyBank,String> {
+
+    @Modifying
+    @Query("UPDATE DummyBank d SET d.balance = d.balance - :amount WHERE d.id = :id AND d.balance >= :amount")
+    int debitBalance(@Param("id") String id, @Param("amount") Long amount);
 }
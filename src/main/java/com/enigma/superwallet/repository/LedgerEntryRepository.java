@@ -0,0 +1,24 @@
+package com.enigma.superwallet.repository;
+
+import com.enigma.superwallet.constant.ECurrencyCode;
+import com.enigma.superwallet.constant.ELedgerDirection;
+import com.enigma.superwallet.entity.LedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, String> {
+
+    @Query("SELECT COALESCE(SUM(CASE WHEN e.direction = :credit THEN e.amount ELSE -e.amount END), 0) " +
+            "FROM LedgerEntry e WHERE e.accountRef = :accountRef AND e.currency = :currency AND e.txId >= :fromTxId")
+    long sumSince(@Param("accountRef") String accountRef, @Param("currency") ECurrencyCode currency,
+                  @Param("fromTxId") long fromTxId, @Param("credit") ELedgerDirection credit);
+
+    List<LedgerEntry> findByMovementId(String movementId);
+
+    boolean existsByAccountRefAndCurrency(String accountRef, ECurrencyCode currency);
+}
@@ -0,0 +1,14 @@
+package com.enigma.superwallet.repository;
+
+import com.enigma.superwallet.entity.TransactionHistory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.stream.Stream;
+
+public interface TransactionHistorySliceRepository {
+    Slice<TransactionHistory> findSlice(Specification<TransactionHistory> specification, Pageable pageable);
+    Stream<TransactionHistory> streamAll(Specification<TransactionHistory> specification, Sort sort, int fetchSize);
+}
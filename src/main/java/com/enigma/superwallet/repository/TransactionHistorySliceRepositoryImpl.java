@@ -0,0 +1,65 @@
+package com.enigma.superwallet.repository;
+
+import com.enigma.superwallet.entity.TransactionHistory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public class TransactionHistorySliceRepositoryImpl implements TransactionHistorySliceRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<TransactionHistory> findSlice(Specification<TransactionHistory> specification, Pageable pageable) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransactionHistory> query = criteriaBuilder.createQuery(TransactionHistory.class);
+        Root<TransactionHistory> root = query.from(TransactionHistory.class);
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+
+        // one row past the page tells whether a next page exists, no COUNT(*) needed
+        List<TransactionHistory> rows = entityManager.createQuery(query)
+                .setHint("jakarta.persistence.loadgraph", entityManager.getEntityGraph(TransactionHistory.DETAILS_GRAPH))
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    @Override
+    public Stream<TransactionHistory> streamAll(Specification<TransactionHistory> specification, Sort sort, int fetchSize) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransactionHistory> query = criteriaBuilder.createQuery(TransactionHistory.class);
+        Root<TransactionHistory> root = query.from(TransactionHistory.class);
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+
+        // forward-only cursor; the caller must consume it inside a transaction and clear the context as it goes
+        return entityManager.createQuery(query)
+                .setHint("jakarta.persistence.loadgraph", entityManager.getEntityGraph(TransactionHistory.DETAILS_GRAPH))
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
@@ -1,10 +1,18 @@
 package com.enigma.superwallet.repository;
 
 import com.enigma.superwallet.entity.TransactionHistory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface TransactionRepositroy extends JpaRepository<TransactionHistory,String>, JpaSpecificationExecutor<TransactionHistory> {
+public interface TransactionRepositroy extends JpaRepository<TransactionHistory,String>, JpaSpecificationExecutor<TransactionHistory>, TransactionHistorySliceRepository {
+
+    @Override
+    @EntityGraph(TransactionHistory.DETAILS_GRAPH)
+    Page<TransactionHistory> findAll(Specification<TransactionHistory> specification, Pageable pageable);
 }
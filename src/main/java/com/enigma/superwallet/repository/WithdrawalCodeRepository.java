@@ -0,0 +1,22 @@
+package com.enigma.superwallet.repository;
+
+import com.enigma.superwallet.constant.EWithdrawalCodeStatus;
+import com.enigma.superwallet.entity.WithdrawalCode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface WithdrawalCodeRepository extends JpaRepository<WithdrawalCode, String> {
+    Optional<WithdrawalCode> findByCodeHash(String codeHash);
+
+    @Modifying
+    @Query("UPDATE WithdrawalCode w SET w.status = :redeemed, w.closedAt = :now " +
+            "WHERE w.codeHash = :codeHash AND w.status = :issued AND w.expiresAt > :now")
+    int redeem(@Param("codeHash") String codeHash, @Param("now") long now,
+               @Param("issued") EWithdrawalCodeStatus issued, @Param("redeemed") EWithdrawalCodeStatus redeemed);
+}
@@ -1,20 +1,22 @@
 package com.enigma.superwallet.security;
 
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.enigma.superwallet.entity.AppUser;
+import com.enigma.superwallet.service.TokenRevocationService;
 import com.enigma.superwallet.service.UserCredentialService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
@@ -22,6 +24,11 @@ public class AuthTokenFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserCredentialService userService;
+    private final TokenRevocationService tokenRevocationService;
+
+    // authorities come from the signed claims instead of a UserCredential lookup on every request
+    @Value("${app.super_wallet.jwt.stateless:false}")
+    private boolean stateless;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
@@ -29,9 +36,15 @@ public class AuthTokenFilter extends OncePerRequestFilter {
             String headerAuth = request.getHeader("Authorization");
             String token = null;
             if (headerAuth != null && headerAuth.startsWith("Bearer ")) token = headerAuth.substring(7);
-            if (token != null && jwtUtil.verifyJwtToken(token)) {
-                Map<String, String> userInfo = jwtUtil.getUserInfoByToken(token);
-                UserDetails user = userService.loadUserByUserId(userInfo.get("userId"));
+            if (token != null) {
+                DecodedJWT decodedJWT = jwtUtil.verify(token);
+                if (tokenRevocationService.isRevoked(decodedJWT.getSubject(), jwtUtil.issuedAt(decodedJWT))) {
+                    throw new RuntimeException("Token has been revoked");
+                }
+                AppUser user = stateless
+                        ? jwtUtil.toAppUser(decodedJWT)
+                        : userService.loadUserByUserId(decodedJWT.getSubject());
+                user.setCustomerId(decodedJWT.getClaim("customerId").asString());
                 UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
                 authenticationToken.setDetails(new WebAuthenticationDetailsSource());
                 SecurityContextHolder.getContext().setAuthentication(authenticationToken);
@@ -0,0 +1,22 @@
+package com.enigma.superwallet.security;
+
+import com.enigma.superwallet.entity.AppUser;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * The principal AuthTokenFilter placed on the SecurityContext after verifying the request's token,
+ * so services never have to re-read the Authorization header.
+ */
+public class CurrentUser {
+
+    public static AppUser get() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AppUser appUser) {
+            return appUser;
+        }
+        throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Authorization header is missing or invalid");
+    }
+}
@@ -6,22 +6,24 @@ import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.enigma.superwallet.constant.ERole;
 import com.enigma.superwallet.entity.Admin;
 import com.enigma.superwallet.entity.AppUser;
 import com.enigma.superwallet.entity.Customer;
 import com.enigma.superwallet.service.CustomerService;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Optional;
 
 @Component
 public class JwtUtil {
 
+    private static final String ISSUED_AT_MS = "iatMs";
+
     @Value("${app.super_wallet.jwt.jwt-secret}")
     private String jwtSecret;
     @Value("${app.super_wallet.jwt.app-name}")
@@ -29,52 +31,64 @@ public class JwtUtil {
     @Value("${app.super_wallet.jwt.jwtExpirationInSecond}")
     private long jwtExpirationInSecond;
     private final CustomerService customerService;
+    private final TokenVerificationCache tokenVerificationCache;
+    private Algorithm algorithm;
+    private JWTVerifier verifier;
 
-    public JwtUtil(CustomerService customerService) {
+    public JwtUtil(CustomerService customerService, TokenVerificationCache tokenVerificationCache) {
         this.customerService = customerService;
+        this.tokenVerificationCache = tokenVerificationCache;
+    }
+
+    @PostConstruct
+    public void init() {
+        // both are immutable and thread-safe, so one instance serves every request
+        algorithm = Algorithm.HMAC256(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        verifier = JWT.require(algorithm).withIssuer(appName).build();
     }
 
     public String generateToken(AppUser appUser) {
+        Optional<Customer> customer = customerService.getCustomerByUserCredentialId(appUser.getId());
+        String customerId = customer.map(Customer::getId).orElse(""); // Get customer ID or empty string if customer is empty
+        return generateToken(appUser.getId(), appUser.getRole(), customerId);
+    }
+
+    public String generateToken(String userId, ERole role, String customerId) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(jwtSecret.getBytes(StandardCharsets.UTF_8));
-            Optional<Customer> customer = customerService.getCustomerByUserCredentialId(appUser.getId());
-            String customerId = customer.map(Customer::getId).orElse(""); // Get customer ID or empty string if customer is empty
+            Instant now = Instant.now();
             return JWT.create()
                     .withIssuer(appName)
-                    .withSubject(appUser.getId())
+                    .withSubject(userId)
                     .withClaim("customerId", customerId)
-                    .withExpiresAt(Instant.now().plusSeconds(jwtExpirationInSecond))
-                    .withIssuedAt(Instant.now())
-                    .withClaim("app", appUser.getRole().name())
+                    .withExpiresAt(now.plusSeconds(jwtExpirationInSecond))
+                    .withIssuedAt(now)
+                    // iat only has second precision, too coarse to order a token against a revocation
+                    .withClaim(ISSUED_AT_MS, now.toEpochMilli())
+                    .withClaim("app", role.name())
                     .sign(algorithm);
         } catch (JWTCreationException e) {
             throw new RuntimeException();
         }
     }
-    public boolean verifyJwtToken(String token){
+
+    public DecodedJWT verify(String token) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(jwtSecret.getBytes(StandardCharsets.UTF_8));
-            JWTVerifier verifier = JWT.require(algorithm).build();
-            DecodedJWT decodedJWT = verifier.verify(token);
-            return decodedJWT.getIssuer().equals(appName);
+            return tokenVerificationCache.verify(token, verifier::verify);
         } catch (JWTVerificationException e) {
             throw new RuntimeException();
         }
     }
-    public Map<String,String> getUserInfoByToken(String token){
-        try {
-            Algorithm algorithm = Algorithm.HMAC256(jwtSecret.getBytes(StandardCharsets.UTF_8));
-            JWTVerifier verifier = JWT.require(algorithm).build();
-            DecodedJWT decodedJWT = verifier.verify(token);
 
-            Map<String,String> userInfo = new HashMap<>();
-            userInfo.put("userId",decodedJWT.getSubject());
-            userInfo.put("role",decodedJWT.getClaim("role").asString());
-            userInfo.put("customerId",decodedJWT.getClaim("customerId").asString());
-            return userInfo;
-        }catch (JWTVerificationException e) {
-            throw new RuntimeException();
-        }
+    public Instant issuedAt(DecodedJWT decodedJWT) {
+        Long issuedAtMs = decodedJWT.getClaim(ISSUED_AT_MS).asLong();
+        return issuedAtMs != null ? Instant.ofEpochMilli(issuedAtMs) : decodedJWT.getIssuedAtAsInstant();
     }
-}
 
+    public AppUser toAppUser(DecodedJWT decodedJWT) {
+        return AppUser.builder()
+                .id(decodedJWT.getSubject())
+                .role(ERole.valueOf(decodedJWT.getClaim("app").asString()))
+                .customerId(decodedJWT.getClaim("customerId").asString())
+                .build();
+    }
+}
@@ -35,6 +35,8 @@ public class SecurityConfiguration {
                 .authorizeHttpRequests(req ->
                         req.requestMatchers(WHITE_LIST_URL)
                                 .permitAll()
+                                // lock waits, cache and hashing metrics are operational data, not public
+                                .requestMatchers("/actuator/metrics/**").hasAnyRole("ADMIN", "SUPER_ADMIN")
                                 .requestMatchers(HttpMethod.GET).permitAll()
                                 .requestMatchers(HttpMethod.POST,"/api/reset-password").permitAll()
                                 .anyRequest()
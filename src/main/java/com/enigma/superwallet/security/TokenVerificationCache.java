@@ -0,0 +1,79 @@
+package com.enigma.superwallet.security;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Remembers tokens that already passed verification, so a client reusing one token skips the HMAC and the
+ * base64/JSON decoding. Direct-mapped: a 64-bit hash of the token picks one slot and a newer token simply
+ * overwrites it, which bounds memory without locks or an eviction policy.
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenVerificationCache {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.super_wallet.jwt.verification-cache.enabled:false}")
+    private boolean enabled;
+    @Value("${app.super_wallet.jwt.verification-cache.size:4096}")
+    private int size;
+
+    private AtomicReferenceArray<Entry> slots;
+    private int mask;
+    private Counter hits;
+    private Counter misses;
+
+    private record Entry(long hash, String token, DecodedJWT decodedJWT, long expiresAt) {
+    }
+
+    @PostConstruct
+    public void init() {
+        int capacity = Integer.highestOneBit(Math.max(size, 1) * 2 - 1);
+        slots = new AtomicReferenceArray<>(capacity);
+        mask = capacity - 1;
+        hits = Counter.builder("jwt.verification.cache.hits").register(meterRegistry);
+        misses = Counter.builder("jwt.verification.cache.misses").register(meterRegistry);
+    }
+
+    public DecodedJWT verify(String token, Function<String, DecodedJWT> verifier) {
+        if (!enabled) {
+            return verifier.apply(token);
+        }
+        long hash = hash(token);
+        int slot = (int) (hash ^ (hash >>> 32)) & mask;
+        long now = System.currentTimeMillis();
+        Entry entry = slots.get(slot);
+        // the hash only picks the slot; the full token comparison rules out collisions
+        if (entry != null && entry.hash() == hash && entry.expiresAt() > now && entry.token().equals(token)) {
+            hits.increment();
+            return entry.decodedJWT();
+        }
+        misses.increment();
+        DecodedJWT decodedJWT = verifier.apply(token);
+        Instant expiresAt = decodedJWT.getExpiresAtAsInstant();
+        if (expiresAt != null) {
+            slots.set(slot, new Entry(hash, token, decodedJWT, expiresAt.toEpochMilli()));
+        }
+        return decodedJWT;
+    }
+
+    // FNV-1a, 64 bit
+    private static long hash(String token) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < token.length(); i++) {
+            hash ^= token.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
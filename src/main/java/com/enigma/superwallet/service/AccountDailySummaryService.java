@@ -0,0 +1,17 @@
+package com.enigma.superwallet.service;
+
+import com.enigma.superwallet.constant.ECurrencyCode;
+import com.enigma.superwallet.constant.ETransactionType;
+import com.enigma.superwallet.dto.response.AccountDailySummaryResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface AccountDailySummaryService {
+    void record(List<Movement> movements);
+    List<AccountDailySummaryResponse> getDailySummaries(String accountId, LocalDate from, LocalDate to);
+
+    record Movement(String accountId, ECurrencyCode currency, ETransactionType transactionType,
+                    long amountIn, long amountOut, long fee) {
+    }
+}
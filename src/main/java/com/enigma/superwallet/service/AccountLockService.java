@@ -0,0 +1,7 @@
+package com.enigma.superwallet.service;
+
+import java.util.function.Supplier;
+
+public interface AccountLockService {
+    <T> T executeWithLocks(String firstAccountId, String secondAccountId, Supplier<T> action);
+}
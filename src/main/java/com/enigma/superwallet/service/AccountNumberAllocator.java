@@ -0,0 +1,5 @@
+package com.enigma.superwallet.service;
+
+public interface AccountNumberAllocator {
+    String next();
+}
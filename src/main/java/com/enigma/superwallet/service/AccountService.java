@@ -11,8 +11,11 @@ public interface AccountService {
     AccountResponse getById(String id);
     AccountResponse createDefaultAccount(String customerId);
     AccountResponse findAccountByCustomerIdAndPin(String userId, String pin);
-    AccountResponse updateAccountBalance(String accountId, Double amount);
-    AccountResponse updateIdrAccountBalance(String accountId,Double newBalance);
+    void debitBalance(String accountId, long amount);
+    void creditBalance(String accountId, long amount);
+    void updateIdrAccountBalance(String accountId, long amount);
+    long getCurrentBalance(String accountId);
+    void invalidate(String accountId);
 
     AccountResponse getByAccountNumber(String accountNumber);
 }
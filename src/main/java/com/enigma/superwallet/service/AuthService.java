@@ -2,9 +2,11 @@ package com.enigma.superwallet.service;
 
 import com.enigma.superwallet.dto.request.AuthAdminRequest;
 import com.enigma.superwallet.dto.request.LoginRequest;
+import com.enigma.superwallet.dto.request.RefreshTokenRequest;
 import com.enigma.superwallet.dto.request.RegisterRequest;
 import com.enigma.superwallet.dto.response.LoginAdminResponse;
 import com.enigma.superwallet.dto.response.LoginResponse;
+import com.enigma.superwallet.dto.response.RefreshTokenResponse;
 import com.enigma.superwallet.dto.response.RegisterResponse;
 
 public interface AuthService {
@@ -13,4 +15,5 @@ public interface AuthService {
     RegisterResponse registerSuperAdmin(AuthAdminRequest authAdminRequest);
     RegisterResponse registerAdmin(AuthAdminRequest authAdminRequest);
     LoginAdminResponse loginAdmin(LoginRequest loginRequest);
+    RefreshTokenResponse refresh(RefreshTokenRequest refreshTokenRequest);
 }
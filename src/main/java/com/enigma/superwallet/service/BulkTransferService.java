@@ -0,0 +1,12 @@
+package com.enigma.superwallet.service;
+
+import com.enigma.superwallet.dto.request.TransferRequest;
+import com.enigma.superwallet.dto.response.BulkTransferResponse;
+
+import java.io.InputStream;
+import java.util.List;
+
+public interface BulkTransferService {
+    BulkTransferResponse transfer(List<TransferRequest> requests);
+    BulkTransferResponse transferCsv(InputStream csv);
+}
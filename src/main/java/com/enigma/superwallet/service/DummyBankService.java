@@ -7,5 +7,5 @@ import com.enigma.superwallet.entity.DummyBank;
 public interface DummyBankService {
     DummyBankResponse createDummyBank(DummyBankRequest dummyBankRequest);
     DummyBankResponse getDummyBankById(String id);
-    DummyBankResponse reduceBalance(String id,double amount);
+    void reduceBalance(String id, long amount);
 }
@@ -0,0 +1,9 @@
+package com.enigma.superwallet.service;
+
+import java.time.YearMonth;
+import java.util.List;
+
+public interface HistoryPartitionService {
+    void createFuturePartitions();
+    List<String> archivePartitionsBefore(YearMonth month);
+}
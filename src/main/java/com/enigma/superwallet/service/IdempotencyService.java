@@ -0,0 +1,13 @@
+package com.enigma.superwallet.service;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+public interface IdempotencyService {
+    ResponseEntity<?> execute(String idempotencyKey, String operation, Supplier<ResponseEntity<?>> action);
+    // replayOnly maps the live body to what may be stored and replayed, e.g. with secrets masked
+    ResponseEntity<?> execute(String idempotencyKey, String operation, Supplier<ResponseEntity<?>> action,
+                              UnaryOperator<Object> replayOnly);
+}
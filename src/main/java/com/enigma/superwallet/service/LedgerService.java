@@ -0,0 +1,16 @@
+package com.enigma.superwallet.service;
+
+import com.enigma.superwallet.constant.ECurrencyCode;
+import com.enigma.superwallet.entity.Money;
+
+import java.util.List;
+
+public interface LedgerService {
+    void record(String movementId, String debitAccount, String creditAccount, ECurrencyCode currency, long amount);
+    void record(List<Posting> postings);
+    Money rebuildBalance(String accountId);
+    void checkpointBalances();
+
+    record Posting(String movementId, String debitAccount, String creditAccount, ECurrencyCode currency, long amount) {
+    }
+}
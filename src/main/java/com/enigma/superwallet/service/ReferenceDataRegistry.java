@@ -0,0 +1,15 @@
+package com.enigma.superwallet.service;
+
+import com.enigma.superwallet.constant.ECurrencyCode;
+import com.enigma.superwallet.constant.ERole;
+import com.enigma.superwallet.constant.ETransactionType;
+import com.enigma.superwallet.entity.Currency;
+import com.enigma.superwallet.entity.Role;
+import com.enigma.superwallet.entity.TransactionType;
+
+public interface ReferenceDataRegistry {
+    Currency currency(ECurrencyCode code);
+    TransactionType transactionType(ETransactionType type);
+    Role role(ERole roleName);
+    void refresh();
+}
@@ -0,0 +1,9 @@
+package com.enigma.superwallet.service;
+
+import com.enigma.superwallet.dto.response.RefreshTokenResponse;
+import com.enigma.superwallet.entity.AppUser;
+
+public interface RefreshTokenService {
+    String issue(AppUser appUser, String customerId);
+    RefreshTokenResponse refresh(String refreshToken);
+}
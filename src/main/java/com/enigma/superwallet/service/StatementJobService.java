@@ -0,0 +1,10 @@
+package com.enigma.superwallet.service;
+
+import com.enigma.superwallet.dto.response.StatementJobResponse;
+
+import java.time.YearMonth;
+
+public interface StatementJobService {
+    StatementJobResponse start(YearMonth month);
+    StatementJobResponse status();
+}
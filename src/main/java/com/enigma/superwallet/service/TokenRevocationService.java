@@ -0,0 +1,9 @@
+package com.enigma.superwallet.service;
+
+import java.time.Instant;
+
+public interface TokenRevocationService {
+    void revokeTokensOf(String userId);
+    void revokeAccessTokensOf(String userId);
+    boolean isRevoked(String userId, Instant issuedAt);
+}
@@ -0,0 +1,9 @@
+package com.enigma.superwallet.service;
+
+import com.enigma.superwallet.entity.TransactionHistory;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface TransactionHistoryCountService {
+    long estimateTotal();
+    long cachedCount(String filterKey, Specification<TransactionHistory> specification);
+}
@@ -0,0 +1,7 @@
+package com.enigma.superwallet.service;
+
+import com.enigma.superwallet.entity.TransactionHistory;
+
+public interface TransactionHistoryRecorder {
+    String record(TransactionHistory transactionHistory);
+}
@@ -6,6 +6,10 @@ import com.enigma.superwallet.dto.request.WithdrawalRequest;
 import com.enigma.superwallet.dto.response.*;
 import com.enigma.superwallet.entity.TransactionType;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.io.OutputStream;
+import java.util.function.Consumer;
 
 public interface TransactionsService {
     DepositResponse deposit(DepositRequest request);
@@ -13,4 +17,9 @@ public interface TransactionsService {
     TransferResponse getTransfer(TransferRequest request, AccountResponse sender, AccountResponse receiver, TransactionType transactionType);
     WithdrawalResponse withdraw(WithdrawalRequest request);
     Page<TransferHistoryResponse> getTransferHistoriesPaging(String name, String type, Long fromDate, Long toDate, Integer page, Integer size);
+    Slice<TransferHistoryResponse> getTransferHistoriesSlice(String name, String type, Long fromDate, Long toDate, Integer page, Integer size);
+    long approximateTransferHistoryCount(String name, String type, Long fromDate, Long toDate);
+    CursorPageResponse<TransferHistoryResponse> getTransferHistoriesByCursor(String name, String type, Long fromDate, Long toDate, String cursor, Integer size);
+    // filters are validated on the call, the returned writer only streams rows
+    Consumer<OutputStream> exportTransferHistories(String name, String type, Long fromDate, Long toDate, String format);
 }
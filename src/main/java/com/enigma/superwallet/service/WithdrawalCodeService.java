@@ -0,0 +1,11 @@
+package com.enigma.superwallet.service;
+
+import com.enigma.superwallet.constant.ECurrencyCode;
+import com.enigma.superwallet.dto.response.WithdrawalRedemptionResponse;
+import com.enigma.superwallet.entity.WithdrawalCode;
+
+public interface WithdrawalCodeService {
+    WithdrawalCode issue(String code, String transactionId, String accountId, ECurrencyCode currency, long amount);
+    WithdrawalRedemptionResponse redeem(String code);
+    int expireStaleCodes();
+}
@@ -0,0 +1,110 @@
+package com.enigma.superwallet.service.impl;
+
+import com.enigma.superwallet.constant.ECurrencyCode;
+import com.enigma.superwallet.constant.ERole;
+import com.enigma.superwallet.constant.ETransactionType;
+import com.enigma.superwallet.dto.response.AccountDailySummaryResponse;
+import com.enigma.superwallet.entity.AppUser;
+import com.enigma.superwallet.entity.Money;
+import com.enigma.superwallet.repository.AccountRepository;
+import com.enigma.superwallet.repository.AccountDailySummaryRepository;
+import com.enigma.superwallet.security.CurrentUser;
+import com.enigma.superwallet.service.AccountDailySummaryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+@Service
+@RequiredArgsConstructor
+public class AccountDailySummaryServiceImpl implements AccountDailySummaryService {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO t_account_daily_summary (id, summary_date, account_id, currency, transaction_type, " +
+                    "tx_count, sum_in, sum_out, fees) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+                    "ON CONFLICT (account_id, summary_date, currency, transaction_type) DO UPDATE SET " +
+                    "tx_count = t_account_daily_summary.tx_count + EXCLUDED.tx_count, " +
+                    "sum_in = t_account_daily_summary.sum_in + EXCLUDED.sum_in, " +
+                    "sum_out = t_account_daily_summary.sum_out + EXCLUDED.sum_out, " +
+                    "fees = t_account_daily_summary.fees + EXCLUDED.fees";
+    private static final int MAX_RANGE_DAYS = 366;
+
+    private record Key(String accountId, ECurrencyCode currency, ETransactionType transactionType) implements Comparable<Key> {
+        @Override
+        public int compareTo(Key other) {
+            int result = accountId.compareTo(other.accountId);
+            if (result == 0) result = currency.compareTo(other.currency);
+            if (result == 0) result = transactionType.compareTo(other.transactionType);
+            return result;
+        }
+    }
+
+    private final AccountDailySummaryRepository accountDailySummaryRepository;
+    private final AccountRepository accountRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void record(List<Movement> movements) {
+        if (movements.isEmpty()) return;
+        // folded per row and sorted by key, so a batch touches each row once and always in the same order
+        Map<Key, long[]> totals = new TreeMap<>();
+        for (Movement movement : movements) {
+            long[] total = totals.computeIfAbsent(
+                    new Key(movement.accountId(), movement.currency(), movement.transactionType()), key -> new long[4]);
+            total[0]++;
+            total[1] += movement.amountIn();
+            total[2] += movement.amountOut();
+            total[3] += movement.fee();
+        }
+        Date today = Date.valueOf(LocalDate.now());
+        List<Map.Entry<Key, long[]>> rows = new ArrayList<>(totals.entrySet());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setString(1, UUID.randomUUID().toString());
+            ps.setDate(2, today);
+            ps.setString(3, row.getKey().accountId());
+            ps.setString(4, row.getKey().currency().name());
+            ps.setString(5, row.getKey().transactionType().name());
+            ps.setLong(6, row.getValue()[0]);
+            ps.setLong(7, row.getValue()[1]);
+            ps.setLong(8, row.getValue()[2]);
+            ps.setLong(9, row.getValue()[3]);
+        });
+    }
+
+    @Override
+    public List<AccountDailySummaryResponse> getDailySummaries(String accountId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Date range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+        AppUser currentUser = CurrentUser.get();
+        if (currentUser.getRole() == ERole.ROLE_CUSTOMER) {
+            String ownerId = accountRepository.findById(accountId)
+                    .map(account -> account.getCustomer().getId())
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Account not found"));
+            if (!ownerId.equals(currentUser.getCustomerId())) {
+                throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Account does not belong to the current customer");
+            }
+        }
+        return accountDailySummaryRepository
+                .findByAccountIdAndSummaryDateBetweenOrderBySummaryDateAscTransactionTypeAsc(accountId, from, to)
+                .stream()
+                .map(summary -> AccountDailySummaryResponse.builder()
+                        .date(summary.getSummaryDate())
+                        .transactionType(summary.getTransactionType().name())
+                        .count(summary.getTxCount())
+                        .sumIn(Money.of(summary.getSumIn(), summary.getCurrency()))
+                        .sumOut(Money.of(summary.getSumOut(), summary.getCurrency()))
+                        .fees(Money.of(summary.getFees(), summary.getCurrency()))
+                        .build())
+                .toList();
+    }
+}
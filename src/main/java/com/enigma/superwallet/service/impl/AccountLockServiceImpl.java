@@ -0,0 +1,95 @@
+package com.enigma.superwallet.service.impl;
+
+import com.enigma.superwallet.service.AccountLockService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Contending transfers queue here instead of holding DB connections; stripes are
+ * always taken in index order so two opposite transfers can never deadlock.
+ */
+@Service
+@RequiredArgsConstructor
+public class AccountLockServiceImpl implements AccountLockService {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.super_wallet.account-lock.stripes:1024}")
+    private int stripeCount;
+    @Value("${app.super_wallet.account-lock.timeout-ms:5000}")
+    private long timeoutMs;
+
+    private ReentrantLock[] stripes;
+    private Timer lockWaitTimer;
+    private Counter lockTimeoutCounter;
+
+    @PostConstruct
+    void init() {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        lockWaitTimer = Timer.builder("account.lock.wait")
+                .description("Time spent waiting for account lock stripes")
+                .register(meterRegistry);
+        lockTimeoutCounter = Counter.builder("account.lock.timeouts")
+                .description("Account lock acquisitions that gave up after the timeout")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public <T> T executeWithLocks(String firstAccountId, String secondAccountId, Supplier<T> action) {
+        int first = stripeIndex(firstAccountId);
+        int second = stripeIndex(secondAccountId);
+        ReentrantLock lower = stripes[Math.min(first, second)];
+        ReentrantLock upper = first == second ? null : stripes[Math.max(first, second)];
+
+        long start = System.nanoTime();
+        acquire(lower, start);
+        try {
+            if (upper != null) acquire(upper, start);
+            try {
+                lockWaitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return action.get();
+            } finally {
+                if (upper != null) upper.unlock();
+            }
+        } finally {
+            lower.unlock();
+        }
+    }
+
+    private void acquire(ReentrantLock lock, long start) {
+        long remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMs) - (System.nanoTime() - start);
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while waiting for account lock");
+        }
+        if (!acquired) {
+            lockTimeoutCounter.increment();
+            lockWaitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Account is busy, please retry");
+        }
+    }
+
+    private int stripeIndex(String accountId) {
+        int h = accountId.hashCode();
+        h ^= (h >>> 16);
+        return h & (stripes.length - 1);
+    }
+}
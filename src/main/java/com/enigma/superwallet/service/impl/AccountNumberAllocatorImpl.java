@@ -0,0 +1,113 @@
+package com.enigma.superwallet.service.impl;
+
+import com.enigma.superwallet.service.AccountNumberAllocator;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out account numbers as prefix + zero-padded serial + Luhn check digit. Serials come from
+ * m_account_number_seq in blocks (hi/lo): the sequence advances by the block size, so every node owns
+ * the block it fetched and allocates inside it without touching the database. Legacy random numbers are
+ * 7-8 digits and never share the 10-digit layout; anything already stored in that layout (e.g. after changing
+ * the prefix) is skipped by moving the sequence past it on startup.
+ */
+@Service
+@RequiredArgsConstructor
+@DependsOn("entityManagerFactory")
+public class AccountNumberAllocatorImpl implements AccountNumberAllocator {
+
+    private static final String SEQUENCE = "m_account_number_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.super_wallet.account-number.prefix:2}")
+    private String prefix;
+    @Value("${app.super_wallet.account-number.serial-digits:8}")
+    private int serialDigits;
+    @Value("${app.super_wallet.account-number.block-size:1000}")
+    private int blockSize;
+
+    private String nextValueSql;
+    private long maxSerial;
+    private volatile Block block = new Block(new AtomicLong(), 0);
+
+    private record Block(AtomicLong next, long end) {
+    }
+
+    @PostConstruct
+    public void init() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + SEQUENCE + " START WITH 1 INCREMENT BY " + blockSize);
+        if ("PostgreSQL".equals(database)) {
+            // the increment stored with the sequence wins, so nodes configured differently still get disjoint blocks
+            Long increment = jdbcTemplate.queryForObject(
+                    "SELECT increment_by FROM pg_sequences WHERE sequencename = ?", Long.class, SEQUENCE);
+            blockSize = Math.toIntExact(increment);
+            nextValueSql = "SELECT nextval('" + SEQUENCE + "')";
+            skipExistingNumbers();
+        } else {
+            nextValueSql = "SELECT NEXT VALUE FOR " + SEQUENCE;
+        }
+        maxSerial = (long) Math.pow(10, serialDigits) - 1;
+    }
+
+    private void skipExistingNumbers() {
+        String highest = jdbcTemplate.queryForObject(
+                "SELECT MAX(account_number) FROM m_account WHERE account_number LIKE ? AND LENGTH(account_number) = ?",
+                String.class, prefix + "%", prefix.length() + serialDigits + 1);
+        if (highest == null) return;
+        long highestSerial = Long.parseLong(highest.substring(prefix.length(), prefix.length() + serialDigits));
+        // only ever moves forward, blocks other nodes already hold stay below it
+        jdbcTemplate.queryForObject("SELECT setval('" + SEQUENCE + "', GREATEST(?, (SELECT last_value FROM "
+                + SEQUENCE + ")))", Long.class, highestSerial);
+    }
+
+    @Override
+    public String next() {
+        while (true) {
+            Block current = block;
+            long serial = current.next().getAndIncrement();
+            if (serial < current.end()) {
+                return format(serial);
+            }
+            refill(current);
+        }
+    }
+
+    private synchronized void refill(Block exhausted) {
+        if (block != exhausted) return;
+        Long start = jdbcTemplate.queryForObject(nextValueSql, Long.class);
+        if (start == null || start + blockSize - 1 > maxSerial) {
+            throw new IllegalStateException("Account number range for prefix " + prefix + " is exhausted");
+        }
+        block = new Block(new AtomicLong(start), start + blockSize);
+    }
+
+    private String format(long serial) {
+        String payload = prefix + String.format("%0" + serialDigits + "d", serial);
+        return payload + checkDigit(payload);
+    }
+
+    static int checkDigit(String payload) {
+        int sum = 0;
+        boolean doubled = true;
+        for (int i = payload.length() - 1; i >= 0; i--) {
+            int digit = payload.charAt(i) - '0';
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) digit -= 9;
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+}
@@ -7,8 +7,10 @@ import com.enigma.superwallet.dto.response.CustomerResponse;
 import com.enigma.superwallet.entity.Account;
 import com.enigma.superwallet.entity.Currency;
 import com.enigma.superwallet.entity.Customer;
+import com.enigma.superwallet.entity.Money;
 import com.enigma.superwallet.entity.UserCredential;
 import com.enigma.superwallet.repository.AccountRepository;
+import com.enigma.superwallet.service.AccountNumberAllocator;
 import com.enigma.superwallet.service.AccountService;
 import com.enigma.superwallet.service.CurrencyService;
 import com.enigma.superwallet.service.CustomerService;
@@ -16,6 +18,8 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
@@ -31,6 +35,8 @@ public class AccountServiceImpl implements AccountService {
     private final AccountRepository accountRepository;
     private final CurrencyService currencyService;
     private final CustomerService customerService;
+    private final AccountSnapshotCache accountSnapshotCache;
+    private final AccountNumberAllocator accountNumberAllocator;
 
     @Transactional(rollbackOn = Exception.class)
     @Override
@@ -54,11 +60,6 @@ public class AccountServiceImpl implements AccountService {
             }
             currency = optionalCurrency.get();
 
-            int defaultNum = 100;
-            int min = 1000000;
-            int max = 9999999;
-            int random = min + (int) (Math.random() * ((max - min) + 1));
-
             CustomerResponse customerResponse = customerService.getById(accountRequest.getCustomerId());
             Customer customer = Customer.builder()
                     .id(customerResponse.getId())
@@ -77,8 +78,8 @@ public class AccountServiceImpl implements AccountService {
                     .createdAt(LocalDateTime.now())
                     .updatedAt(LocalDateTime.now())
                     .currency(currency)
-                    .accountNumber(String.valueOf(defaultNum + random))
-                    .balance(0d)
+                    .accountNumber(accountNumberAllocator.next())
+                    .balance(0L)
                     .customer(customer)
                     .build();
             accountRepository.save(account);
@@ -87,7 +88,7 @@ public class AccountServiceImpl implements AccountService {
                     .customer(account.getCustomer())
                     .accountNumber(account.getAccountNumber())
                     .currency(account.getCurrency())
-                    .balance(account.getBalance())
+                    .balance(Money.of(account.getBalance(), account.getCurrency().getCode()))
                     .build();
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Account Creation Failed");
@@ -101,13 +102,17 @@ public class AccountServiceImpl implements AccountService {
                 .id(account.getId())
                 .customer(account.getCustomer())
                 .accountNumber(account.getAccountNumber())
-                .balance(account.getBalance())
+                .balance(Money.of(account.getBalance(), account.getCurrency().getCode()))
                 .currency(account.getCurrency())
                 .build()).toList();
     }
 
     @Override
     public AccountResponse getById(String id) {
+        return accountSnapshotCache.getById(id, () -> loadById(id));
+    }
+
+    private AccountResponse loadById(String id) {
         Account account = accountRepository.findById(id).orElse(null);
         if (account != null) {
             return AccountResponse.builder()
@@ -117,12 +122,35 @@ public class AccountServiceImpl implements AccountService {
                     .customer(account.getCustomer())
                     .accountNumber(account.getAccountNumber())
                     .currency(account.getCurrency())
-                    .balance(account.getBalance())
+                    .balance(Money.of(account.getBalance(), account.getCurrency().getCode()))
                     .build();
         }
         return null;
     }
 
+    @Override
+    public long getCurrentBalance(String accountId) {
+        Long balance = accountRepository.findBalanceById(accountId);
+        if (balance == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Account not found");
+        }
+        return balance;
+    }
+
+    @Override
+    public void invalidate(String accountId) {
+        accountSnapshotCache.invalidate(accountId);
+        // a reader may reload the old row before this transaction commits, so drop it again afterwards
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    accountSnapshotCache.invalidate(accountId);
+                }
+            });
+        }
+    }
+
     @Override
     @Transactional
     public AccountResponse createDefaultAccount(String customerId) {
@@ -137,11 +165,6 @@ public class AccountServiceImpl implements AccountService {
                 throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to get or save currency");
             }
             currency = optionalCurrency.get();
-            int defaultNum = 100;
-            int min = 1000000;
-            int max = 9999999;
-            int random = min + (int) (Math.random() * ((max - min) + 1));
-
             CustomerResponse customerResponse = customerService.getById(customerId);
             Customer customer = Customer.builder()
                     .id(customerResponse.getId())
@@ -160,8 +183,8 @@ public class AccountServiceImpl implements AccountService {
                     .createdAt(LocalDateTime.now())
                     .updatedAt(LocalDateTime.now())
                     .currency(currency)
-                    .accountNumber(String.valueOf(defaultNum) + random)
-                    .balance(0d)
+                    .accountNumber(accountNumberAllocator.next())
+                    .balance(0L)
                     .customer(customer)
                     .build();
             accountRepository.save(account);
@@ -172,7 +195,7 @@ public class AccountServiceImpl implements AccountService {
                     .customer(account.getCustomer())
                     .accountNumber(account.getAccountNumber())
                     .currency(account.getCurrency())
-                    .balance(account.getBalance())
+                    .balance(Money.of(account.getBalance(), account.getCurrency().getCode()))
                     .build();
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Account Creation Failed");
@@ -189,74 +212,53 @@ public class AccountServiceImpl implements AccountService {
                         .customer(account.getCustomer())
                         .accountNumber(account.getAccountNumber())
                         .currency(account.getCurrency())
-                        .balance(account.getBalance())
+                        .balance(Money.of(account.getBalance(), account.getCurrency().getCode()))
                         .build())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Account not found or pin is incorrect"));
     }
 
     @Override
     @Transactional
-    public AccountResponse updateAccountBalance(String accountId, Double amount) {
-        try {
-            Optional<Account> optionalAccount = accountRepository.findById(accountId);
-            if (optionalAccount.isPresent()) {
-                Account account = optionalAccount.get();
-
-                account.setBalance(amount);
-
-                return AccountResponse.builder()
-                        .id(account.getId())
-//                        .firstName(account.getCustomer().getFirstName())
-//                        .lastName(account.getCustomer().getLastName())
-                        .customer(account.getCustomer())
-                        .accountNumber(account.getAccountNumber())
-                        .currency(account.getCurrency())
-                        .balance(account.getBalance())
-                        .build();
-            } else {
+    public void debitBalance(String accountId, long amount) {
+        invalidate(accountId);
+        int updated = accountRepository.debitBalance(accountId, amount, LocalDateTime.now());
+        if (updated == 0) {
+            if (!accountRepository.existsById(accountId)) {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Account not found");
             }
-        } catch (ResponseStatusException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to update account balance", e);
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Insufficient balance");
         }
     }
 
     @Override
-    public AccountResponse updateIdrAccountBalance(String accountId, Double newBalance) {
-        try {
-            Optional<Account> optionalAccount = accountRepository.findById(accountId);
-            if (optionalAccount.isPresent()) {
-                Account account = optionalAccount.get();
-                if (account.getCurrency().getCode() == ECurrencyCode.IDR) {
-                    Double oldBalance = account.getBalance();
-                    Double updatedBalance = oldBalance + newBalance;
-                    account.setBalance(updatedBalance);
-                    return AccountResponse.builder()
-                            .id(account.getId())
-//                            .firstName(account.getCustomer().getFirstName())
-//                            .lastName(account.getCustomer().getLastName())
-                            .customer(account.getCustomer())
-                            .accountNumber(account.getAccountNumber())
-                            .currency(account.getCurrency())
-                            .balance(account.getBalance())
-                            .build();
-                } else {
-                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Account currency is not IDR");
-                }
-            } else {
+    @Transactional
+    public void creditBalance(String accountId, long amount) {
+        invalidate(accountId);
+        int updated = accountRepository.creditBalance(accountId, amount, LocalDateTime.now());
+        if (updated == 0) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Account not found");
+        }
+    }
+
+    @Override
+    @Transactional
+    public void updateIdrAccountBalance(String accountId, long amount) {
+        invalidate(accountId);
+        int updated = accountRepository.creditBalanceInCurrency(accountId, amount, ECurrencyCode.IDR, LocalDateTime.now());
+        if (updated == 0) {
+            if (!accountRepository.existsById(accountId)) {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Account not found");
             }
-        } catch (ResponseStatusException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to update account balance", e);
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Account currency is not IDR");
         }
     }
 
     @Override
     public AccountResponse getByAccountNumber(String accountNumber) {
+        return accountSnapshotCache.getByAccountNumber(accountNumber, () -> loadByAccountNumber(accountNumber));
+    }
+
+    private AccountResponse loadByAccountNumber(String accountNumber) {
        Account dataAccount= accountRepository.findByAccountNumber(accountNumber);
         if(dataAccount ==null){
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Account number not found");
@@ -269,7 +271,7 @@ public class AccountServiceImpl implements AccountService {
                 .customer(dataAccount.getCustomer())
                 .accountNumber(dataAccount.getAccountNumber())
                 .currency(dataAccount.getCurrency())
-                .balance(dataAccount.getBalance())
+                .balance(Money.of(dataAccount.getBalance(), dataAccount.getCurrency().getCode()))
                 .build();
     }
 }
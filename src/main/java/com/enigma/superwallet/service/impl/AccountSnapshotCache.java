@@ -0,0 +1,155 @@
+package com.enigma.superwallet.service.impl;
+
+import com.enigma.superwallet.dto.response.AccountResponse;
+import com.enigma.superwallet.entity.Customer;
+import com.enigma.superwallet.entity.UserCredential;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU + TTL cache of account snapshots, reachable by id and by account number.
+ * Balances in here are for display only; anything that moves money re-checks against the database.
+ * Snapshots are deep-copied on the way in and out, so a cached entry can only change through a reload.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountSnapshotCache {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.super_wallet.account-cache.max-size:10000}")
+    private int maxSize;
+    @Value("${app.super_wallet.account-cache.ttl-ms:30000}")
+    private long ttlMs;
+
+    private final Object lock = new Object();
+    private Map<String, Entry> byId;
+    private final Map<String, Entry> byNumber = new HashMap<>();
+    // stamped by every invalidation, so a load that raced with a write is never cached
+    private final Map<String, Long> generations = new HashMap<>();
+    private final TreeMap<Long, Integer> activeLoads = new TreeMap<>();
+    private long invalidations;
+
+    private Counter hits;
+    private Counter misses;
+    private Counter evictions;
+
+    private record Entry(AccountResponse account, long expiresAt) {
+    }
+
+    @PostConstruct
+    public void init() {
+        byId = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() <= maxSize) return false;
+                byNumber.remove(eldest.getValue().account().getAccountNumber());
+                evictions.increment();
+                return true;
+            }
+        };
+        hits = Counter.builder("account.cache.hits").register(meterRegistry);
+        misses = Counter.builder("account.cache.misses").register(meterRegistry);
+        evictions = Counter.builder("account.cache.evictions").register(meterRegistry);
+        Gauge.builder("account.cache.size", this, cache -> {
+            synchronized (cache.lock) {
+                return cache.byId.size();
+            }
+        }).register(meterRegistry);
+    }
+
+    public AccountResponse getById(String id, Supplier<AccountResponse> loader) {
+        return get(byId, id, loader);
+    }
+
+    public AccountResponse getByAccountNumber(String accountNumber, Supplier<AccountResponse> loader) {
+        return get(byNumber, accountNumber, loader);
+    }
+
+    public void invalidate(String id) {
+        synchronized (lock) {
+            generations.put(id, ++invalidations);
+            Entry removed = byId.remove(id);
+            if (removed != null) {
+                byNumber.remove(removed.account().getAccountNumber());
+            }
+        }
+    }
+
+    private AccountResponse get(Map<String, Entry> index, String key, Supplier<AccountResponse> loader) {
+        long now = System.currentTimeMillis();
+        long generation;
+        synchronized (lock) {
+            Entry entry = index.get(key);
+            if (entry != null && entry.expiresAt() > now) {
+                hits.increment();
+                return copy(entry.account());
+            }
+            if (entry != null) {
+                byId.remove(entry.account().getId());
+                byNumber.remove(entry.account().getAccountNumber());
+                evictions.increment();
+            }
+            generation = invalidations;
+            activeLoads.merge(generation, 1, Integer::sum);
+        }
+        misses.increment();
+        // loaded outside the lock so a slow query never blocks other lookups
+        AccountResponse loaded = null;
+        try {
+            loaded = loader.get();
+        } finally {
+            synchronized (lock) {
+                activeLoads.computeIfPresent(generation, (started, count) -> count > 1 ? count - 1 : null);
+                // an invalidation that landed while loading means the row may be older than the write it announced
+                boolean invalidated = loaded != null && generations.getOrDefault(loaded.getId(), 0L) > generation;
+                if (loaded != null && !invalidated) {
+                    Entry entry = new Entry(copy(loaded), now + ttlMs);
+                    byId.put(loaded.getId(), entry);
+                    byNumber.put(loaded.getAccountNumber(), entry);
+                }
+                pruneGenerations();
+            }
+        }
+        return loaded;
+    }
+
+    private void pruneGenerations() {
+        if (generations.size() <= maxSize) return;
+        // only loads started before an invalidation need to see it
+        long oldestLoad = activeLoads.isEmpty() ? invalidations : activeLoads.firstKey();
+        generations.values().removeIf(generation -> generation <= oldestLoad);
+    }
+
+    // the nested JPA entities are mutable and may be detached, so every level is copied: neither callers nor
+    // the cache ever hold a reference into the other's graph
+    private AccountResponse copy(AccountResponse account) {
+        return account.toBuilder()
+                .customer(copy(account.getCustomer()))
+                .currency(account.getCurrency() != null ? account.getCurrency().toBuilder().build() : null)
+                .build();
+    }
+
+    private Customer copy(Customer customer) {
+        if (customer == null) return null;
+        UserCredential credential = customer.getUserCredential();
+        return customer.toBuilder()
+                .dummyBank(customer.getDummyBank() != null ? customer.getDummyBank().toBuilder().build() : null)
+                .profilePicture(customer.getProfilePicture() != null ? customer.getProfilePicture().toBuilder().build() : null)
+                .userCredential(credential != null ? credential.toBuilder()
+                        .role(credential.getRole() != null ? credential.getRole().toBuilder().build() : null)
+                        .build() : null)
+                .build();
+    }
+}
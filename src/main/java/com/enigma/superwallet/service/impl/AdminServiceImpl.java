@@ -6,6 +6,7 @@ import com.enigma.superwallet.entity.Admin;
 import com.enigma.superwallet.entity.UserCredential;
 import com.enigma.superwallet.repository.AdminRepository;
 import com.enigma.superwallet.service.AdminService;
+import com.enigma.superwallet.service.TokenRevocationService;
 import com.enigma.superwallet.service.UserCredentialService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +22,7 @@ public class AdminServiceImpl implements AdminService {
     private final AdminRepository adminRepository;
     private final UserCredentialService userCredentialService;
     private final PasswordEncoder passwordEncoder;
+    private final TokenRevocationService tokenRevocationService;
 
     @Override
     public AdminResponse createSuperAdmin(Admin admin) {
@@ -114,6 +116,7 @@ public class AdminServiceImpl implements AdminService {
                     .userCredential(admin.getUserCredential())
                     .build();
             adminRepository.save(toDeleteAdmin);
+            tokenRevocationService.revokeTokensOf(admin.getUserCredential().getId());
             return true;
         }
         return false;
@@ -3,9 +3,11 @@ package com.enigma.superwallet.service.impl;
 import com.enigma.superwallet.constant.ERole;
 import com.enigma.superwallet.dto.request.AuthAdminRequest;
 import com.enigma.superwallet.dto.request.LoginRequest;
+import com.enigma.superwallet.dto.request.RefreshTokenRequest;
 import com.enigma.superwallet.dto.request.RegisterRequest;
 import com.enigma.superwallet.dto.response.LoginAdminResponse;
 import com.enigma.superwallet.dto.response.LoginResponse;
+import com.enigma.superwallet.dto.response.RefreshTokenResponse;
 import com.enigma.superwallet.dto.response.RegisterResponse;
 import com.enigma.superwallet.entity.*;
 import com.enigma.superwallet.repository.UserCredentialRepository;
@@ -44,6 +46,7 @@ public class AuthServiceImpl implements AuthService {
     private final ValidationUtil validationUtil;
     private final JwtUtil jwtUtil;
     private final PasswordEncoder passwordEncoder;
+    private final RefreshTokenService refreshTokenService;
     private final AccountService accountService;
 
     private Authentication getAuthentication(LoginRequest loginRequest) {
@@ -105,6 +108,8 @@ public class AuthServiceImpl implements AuthService {
             return mapToRegisterCustomer(userCredential, registerRequest);
         } catch (DataIntegrityViolationException e) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "User Already Exist");
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "An internal server error occurred", e);
         }
@@ -116,11 +121,15 @@ public class AuthServiceImpl implements AuthService {
             Authentication authentication = getAuthentication(loginRequest);
             SecurityContextHolder.getContext().setAuthentication(authentication);
             AppUser appUser = (AppUser) authentication.getPrincipal();
-            String token = jwtUtil.generateToken(appUser);
             Optional<Customer> customerResponse = customerService.getCustomerByUserCredentialId(appUser.getId());
-            return mapToLoginResponse(customerResponse, appUser.getRole(), token);
+            String customerId = customerResponse.map(Customer::getId).orElse("");
+            String token = jwtUtil.generateToken(appUser.getId(), appUser.getRole(), customerId);
+            String refreshToken = refreshTokenService.issue(appUser, customerId);
+            return mapToLoginResponse(customerResponse, appUser.getRole(), token, refreshToken);
         } catch (BadCredentialsException e) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Invalid email or password", e);
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "An internal server error occurred", e);
         }
@@ -132,16 +141,25 @@ public class AuthServiceImpl implements AuthService {
             Authentication authentication = getAuthentication(loginRequest);
             SecurityContextHolder.getContext().setAuthentication(authentication);
             AppUser appUser = (AppUser) authentication.getPrincipal();
-            String token = jwtUtil.generateToken(appUser);
-            return mapToLoginAdminsResponse(appUser, token);
+            String token = jwtUtil.generateToken(appUser.getId(), appUser.getRole(), "");
+            String refreshToken = refreshTokenService.issue(appUser, "");
+            return mapToLoginAdminsResponse(appUser, token, refreshToken);
         } catch (BadCredentialsException e) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Invalid email or password", e);
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "An internal server error occurred", e);
         }
 
     }
 
+    @Override
+    public RefreshTokenResponse refresh(RefreshTokenRequest refreshTokenRequest) {
+        // no password check and no customer lookup: everything the access token needs is stored with the refresh token
+        return refreshTokenService.refresh(refreshTokenRequest.getRefreshToken());
+    }
+
     @Override
     public RegisterResponse registerAdmin(AuthAdminRequest authAdminRequest) {
         try {
@@ -157,6 +175,8 @@ public class AuthServiceImpl implements AuthService {
             return mapToRegisterResponse(userCredential, authAdminRequest);
         } catch (DataIntegrityViolationException e) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "User admin already exist");
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "An internal server error occurred", e);
         }
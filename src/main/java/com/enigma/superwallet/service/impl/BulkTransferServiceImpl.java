@@ -0,0 +1,278 @@
+package com.enigma.superwallet.service.impl;
+
+import com.enigma.superwallet.constant.ECurrencyCode;
+import com.enigma.superwallet.constant.ETransactionType;
+import com.enigma.superwallet.dto.request.TransferRequest;
+import com.enigma.superwallet.dto.response.BulkTransferResponse;
+import com.enigma.superwallet.dto.response.BulkTransferRowResponse;
+import com.enigma.superwallet.entity.Account;
+import com.enigma.superwallet.entity.Money;
+import com.enigma.superwallet.entity.TransactionType;
+import com.enigma.superwallet.repository.AccountRepository;
+import com.enigma.superwallet.service.AccountDailySummaryService;
+import com.enigma.superwallet.service.AccountService;
+import com.enigma.superwallet.service.BulkTransferService;
+import com.enigma.superwallet.service.LedgerService;
+import com.enigma.superwallet.service.TransactionTypeService;
+import com.enigma.superwallet.util.UuidV7;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Service
+@RequiredArgsConstructor
+public class BulkTransferServiceImpl implements BulkTransferService {
+
+    private static final String SUCCESS = "SUCCESS";
+    private static final String REJECTED = "REJECTED";
+    private static final String FAILED = "FAILED";
+    private static final int LOOKUP_BATCH_SIZE = 1000;
+
+    private static final String UPDATE_BALANCE_SQL =
+            "UPDATE m_account SET balance = balance + ?, updated_at = ? WHERE id = ? AND balance + ? >= 0";
+    private static final String INSERT_HISTORY_SQL =
+            "INSERT INTO t_transaction_history (id, transaction_date, source_account_id, destination_account_id, " +
+                    "amount, transaction_type_id, fee, withdrawal_code) VALUES (?, ?, ?, ?, ?, ?, 0, '')";
+
+    private final AccountRepository accountRepository;
+    private final AccountService accountService;
+    private final TransactionTypeService transactionTypeService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LedgerService ledgerService;
+    private final AccountDailySummaryService accountDailySummaryService;
+
+    @Value("${app.super_wallet.bulk.chunk-size:1000}")
+    private int chunkSize;
+    @Value("${app.super_wallet.bulk.jdbc-batch-size:500}")
+    private int jdbcBatchSize;
+    // the memory bound of a batch: a CSV is parsed completely before any row is applied, so a malformed line
+    // rejects the upload without moving money, and the per-row results are returned in one response anyway
+    @Value("${app.super_wallet.bulk.max-rows:50000}")
+    private int maxRows;
+
+    private record PendingTransfer(BulkTransferRowResponse row, String senderId, String receiverId,
+                                   ECurrencyCode currency, long amount, String transactionId) {
+    }
+
+    @Override
+    public BulkTransferResponse transfer(List<TransferRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Bulk transfer must contain at least one row");
+        }
+        if (requests.size() > maxRows) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Bulk transfer exceeds " + maxRows + " rows");
+        }
+
+        Map<String, Account> accounts = loadAccounts(requests);
+        Map<String, Long> projectedBalances = new HashMap<>();
+        List<BulkTransferRowResponse> rows = new ArrayList<>(requests.size());
+        List<PendingTransfer> accepted = new ArrayList<>(requests.size());
+
+        for (int i = 0; i < requests.size(); i++) {
+            TransferRequest request = requests.get(i);
+            BulkTransferRowResponse row = BulkTransferRowResponse.builder()
+                    .row(i + 1)
+                    .fromNumber(request.getFromNumber())
+                    .toNumber(request.getToNumber())
+                    .amount(request.getAmountTransfer() == null ? null : request.getAmountTransfer().toPlainString())
+                    .build();
+            rows.add(row);
+
+            Account sender = accounts.get(request.getFromNumber());
+            Account receiver = accounts.get(request.getToNumber());
+            if (sender == null) {
+                reject(row, "Source account not found");
+                continue;
+            }
+            if (receiver == null) {
+                reject(row, "Destination account not found");
+                continue;
+            }
+            if (sender.getId().equals(receiver.getId())) {
+                reject(row, "Cannot sending money to the same account number");
+                continue;
+            }
+            if (sender.getCurrency().getCode() != receiver.getCurrency().getCode()) {
+                reject(row, "Cross-currency transfers are not supported in bulk");
+                continue;
+            }
+            BigDecimal amountTransfer = request.getAmountTransfer();
+            if (amountTransfer == null || amountTransfer.signum() <= 0) {
+                reject(row, "Amount must be greater than zero");
+                continue;
+            }
+            long amount;
+            try {
+                amount = Money.toMinorUnits(amountTransfer, sender.getCurrency().getCode());
+            } catch (ArithmeticException e) {
+                reject(row, "Invalid amount for currency " + sender.getCurrency().getCode().name());
+                continue;
+            }
+            long senderBalance = projectedBalances.computeIfAbsent(sender.getId(), id -> sender.getBalance());
+            if (senderBalance < amount) {
+                reject(row, "Insufficient balance");
+                continue;
+            }
+            projectedBalances.put(sender.getId(), senderBalance - amount);
+            long receiverBalance = projectedBalances.computeIfAbsent(receiver.getId(), id -> receiver.getBalance());
+            projectedBalances.put(receiver.getId(), receiverBalance + amount);
+            accepted.add(new PendingTransfer(row, sender.getId(), receiver.getId(),
+                    sender.getCurrency().getCode(), amount, UuidV7.generate()));
+        }
+
+        if (!accepted.isEmpty()) {
+            TransactionType transactionType = transactionTypeService.getOrSave(
+                    TransactionType.builder().transactionType(ETransactionType.TRANSFER).build());
+            for (int from = 0; from < accepted.size(); from += chunkSize) {
+                applyChunk(accepted.subList(from, Math.min(from + chunkSize, accepted.size())), transactionType);
+            }
+        }
+
+        int succeeded = (int) rows.stream().filter(row -> SUCCESS.equals(row.getStatus())).count();
+        return BulkTransferResponse.builder()
+                .totalRows(rows.size())
+                .succeeded(succeeded)
+                .failed(rows.size() - succeeded)
+                .rows(rows)
+                .build();
+    }
+
+    @Override
+    public BulkTransferResponse transferCsv(InputStream csv) {
+        // read line by line and rejected as soon as it passes max-rows, so an oversized upload is never buffered whole
+        List<TransferRequest> requests = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) continue;
+                String[] columns = line.split(",", -1);
+                if (lineNumber == 1 && columns[0].trim().equalsIgnoreCase("fromNumber")) continue;
+                if (columns.length != 3) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                            "Invalid CSV at line " + lineNumber + ", expected fromNumber,toNumber,amount");
+                }
+                BigDecimal amount;
+                try {
+                    amount = new BigDecimal(columns[2].trim());
+                } catch (NumberFormatException e) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid amount at line " + lineNumber);
+                }
+                requests.add(TransferRequest.builder()
+                        .fromNumber(columns[0].trim())
+                        .toNumber(columns[1].trim())
+                        .amountTransfer(amount)
+                        .build());
+                if (requests.size() > maxRows) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Bulk transfer exceeds " + maxRows + " rows");
+                }
+            }
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Failed to read CSV body", e);
+        }
+        return transfer(requests);
+    }
+
+    private Map<String, Account> loadAccounts(List<TransferRequest> requests) {
+        Set<String> numbers = new HashSet<>();
+        for (TransferRequest request : requests) {
+            if (request.getFromNumber() != null) numbers.add(request.getFromNumber());
+            if (request.getToNumber() != null) numbers.add(request.getToNumber());
+        }
+        List<String> numberList = new ArrayList<>(numbers);
+        Map<String, Account> accounts = new HashMap<>(numberList.size() * 2);
+        for (int from = 0; from < numberList.size(); from += LOOKUP_BATCH_SIZE) {
+            List<String> batch = numberList.subList(from, Math.min(from + LOOKUP_BATCH_SIZE, numberList.size()));
+            for (Account account : accountRepository.findByAccountNumberIn(batch)) {
+                accounts.put(account.getAccountNumber(), account);
+            }
+        }
+        return accounts;
+    }
+
+    private void applyChunk(List<PendingTransfer> chunk, TransactionType transactionType) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // TreeMap keeps row locks in id order; single transfers and the withdrawal refund sweep lock
+                // in the same order, so none of them can deadlock against a chunk
+                Map<String, Long> deltas = new TreeMap<>();
+                for (PendingTransfer transfer : chunk) {
+                    deltas.merge(transfer.senderId(), -transfer.amount(), Long::sum);
+                    deltas.merge(transfer.receiverId(), transfer.amount(), Long::sum);
+                }
+                deltas.keySet().forEach(accountService::invalidate);
+                Timestamp updatedAt = Timestamp.valueOf(LocalDateTime.now());
+                int[][] updated = jdbcTemplate.batchUpdate(UPDATE_BALANCE_SQL, new ArrayList<>(deltas.entrySet()), jdbcBatchSize,
+                        (ps, delta) -> {
+                            ps.setLong(1, delta.getValue());
+                            ps.setTimestamp(2, updatedAt);
+                            ps.setString(3, delta.getKey());
+                            ps.setLong(4, delta.getValue());
+                        });
+                for (int[] batch : updated) {
+                    for (int count : batch) {
+                        if (count == 0) {
+                            throw new ResponseStatusException(HttpStatus.CONFLICT, "Insufficient balance when applying the batch");
+                        }
+                    }
+                }
+
+                long transactionDate = Instant.now().toEpochMilli();
+                jdbcTemplate.batchUpdate(INSERT_HISTORY_SQL, chunk, jdbcBatchSize, (ps, transfer) -> {
+                    ps.setString(1, transfer.transactionId());
+                    ps.setLong(2, transactionDate);
+                    ps.setString(3, transfer.senderId());
+                    ps.setString(4, transfer.receiverId());
+                    ps.setLong(5, transfer.amount());
+                    ps.setString(6, transactionType.getId());
+                });
+                ledgerService.record(chunk.stream()
+                        .map(transfer -> new LedgerService.Posting(transfer.transactionId(), transfer.senderId(),
+                                transfer.receiverId(), transfer.currency(), transfer.amount()))
+                        .toList());
+                List<AccountDailySummaryService.Movement> movements = new ArrayList<>(chunk.size() * 2);
+                for (PendingTransfer transfer : chunk) {
+                    movements.add(new AccountDailySummaryService.Movement(transfer.senderId(), transfer.currency(),
+                            transactionType.getTransactionType(), 0, transfer.amount(), 0));
+                    movements.add(new AccountDailySummaryService.Movement(transfer.receiverId(), transfer.currency(),
+                            transactionType.getTransactionType(), transfer.amount(), 0, 0));
+                }
+                accountDailySummaryService.record(movements);
+            });
+            for (PendingTransfer transfer : chunk) {
+                transfer.row().setStatus(SUCCESS);
+                transfer.row().setTransactionId(transfer.transactionId());
+            }
+        } catch (RuntimeException e) {
+            String message = e instanceof ResponseStatusException statusException
+                    ? statusException.getReason()
+                    : "Failed to apply balance changes";
+            for (PendingTransfer transfer : chunk) {
+                transfer.row().setStatus(FAILED);
+                transfer.row().setMessage(message);
+            }
+        }
+    }
+
+    private void reject(BulkTransferRowResponse row, String message) {
+        row.setStatus(REJECTED);
+        row.setMessage(message);
+    }
+}
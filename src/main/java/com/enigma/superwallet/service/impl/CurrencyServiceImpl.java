@@ -1,9 +1,8 @@
 package com.enigma.superwallet.service.impl;
 
-import com.enigma.superwallet.constant.ECurrencyCode;
 import com.enigma.superwallet.entity.Currency;
-import com.enigma.superwallet.repository.CurrencyRepository;
 import com.enigma.superwallet.service.CurrencyService;
+import com.enigma.superwallet.service.ReferenceDataRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -13,15 +12,10 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class CurrencyServiceImpl implements CurrencyService {
 
-    private final CurrencyRepository currencyRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
 
     @Override
     public Optional<Currency> getOrSaveCurrency(Currency currency) {
-        return currencyRepository.findByCode(currency.getCode())
-                .map(Optional::of)
-                .orElseGet(() -> {
-                    currency.setName(currency.getCode().currencyName);
-                    return Optional.of(currencyRepository.save(currency));
-                });
+        return Optional.ofNullable(referenceDataRegistry.currency(currency.getCode()));
     }
 }
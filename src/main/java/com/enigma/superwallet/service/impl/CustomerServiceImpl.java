@@ -11,6 +11,7 @@ import com.enigma.superwallet.repository.CustomerRepository;
 import com.enigma.superwallet.repository.DummyBankRepository;
 import com.enigma.superwallet.repository.ProfileImageRepository;
 import com.enigma.superwallet.service.CustomerService;
+import com.enigma.superwallet.service.TokenRevocationService;
 import com.enigma.superwallet.service.UserCredentialService;
 import com.google.auth.Credentials;
 import com.google.auth.oauth2.GoogleCredentials;
@@ -49,6 +50,7 @@ public class CustomerServiceImpl implements CustomerService {
     private final DummyBankRepository dummyBankRepository;
     private final ProfileImageRepository profileImageRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TokenRevocationService tokenRevocationService;
 
     @Value("${app.super_wallet.path.firebaseUrl}")
     private String firebaseJson;
@@ -165,6 +167,8 @@ public class CustomerServiceImpl implements CustomerService {
                             .build())
                     .build();
 
+        } catch (ResponseStatusException e) {
+            throw e;
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
         }
@@ -188,6 +192,7 @@ public class CustomerServiceImpl implements CustomerService {
                     .userCredential(customer.getUserCredential())
                     .build();
             customerRepository.save(deletedCustomer);
+            tokenRevocationService.revokeTokensOf(customer.getUserCredential().getId());
             return true;
         }
         return false;
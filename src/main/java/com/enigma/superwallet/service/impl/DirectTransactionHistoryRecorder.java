@@ -0,0 +1,22 @@
+package com.enigma.superwallet.service.impl;
+
+import com.enigma.superwallet.entity.TransactionHistory;
+import com.enigma.superwallet.repository.TransactionRepositroy;
+import com.enigma.superwallet.service.TransactionHistoryRecorder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.super_wallet.history-journal.enabled", havingValue = "false", matchIfMissing = true)
+public class DirectTransactionHistoryRecorder implements TransactionHistoryRecorder {
+
+    private final TransactionRepositroy transactionRepositroy;
+
+    @Override
+    public String record(TransactionHistory transactionHistory) {
+        transactionRepositroy.saveAndFlush(transactionHistory);
+        return transactionHistory.getId();
+    }
+}
@@ -1,16 +1,17 @@
 package com.enigma.superwallet.service.impl;
 
+import com.enigma.superwallet.constant.ECurrencyCode;
 import com.enigma.superwallet.dto.request.DummyBankRequest;
 import com.enigma.superwallet.dto.response.CustomerResponse;
 import com.enigma.superwallet.dto.response.DummyBankResponse;
 import com.enigma.superwallet.dto.response.UserCredentialResponse;
 import com.enigma.superwallet.entity.Customer;
 import com.enigma.superwallet.entity.DummyBank;
+import com.enigma.superwallet.entity.Money;
 import com.enigma.superwallet.repository.DummyBankRepository;
-import com.enigma.superwallet.security.JwtUtil;
+import com.enigma.superwallet.security.CurrentUser;
 import com.enigma.superwallet.service.CustomerService;
 import com.enigma.superwallet.service.DummyBankService;
-import com.enigma.superwallet.util.ValidationUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -24,22 +25,18 @@ import java.util.Optional;
 public class DummyBankServiceImpl implements DummyBankService {
     private final DummyBankRepository dummyBankRepo;
     private final CustomerService customerService;
-    private final JwtUtil jwtUtil;
-    private final ValidationUtil util;
 
     @Transactional(rollbackFor = Exception.class)
     @Override
     public DummyBankResponse createDummyBank(DummyBankRequest dummyBankRequest) {
         try {
-            String token = util.extractTokenFromHeader();
-
-            String customerId = jwtUtil.getUserInfoByToken(token).get("userId");
+            String customerId = CurrentUser.get().getId();
             System.out.println(customerId);
 
             DummyBank dummyBank = DummyBank.builder()
                     .bankNumber(dummyBankRequest.getBankNumber())
                     .cvv(dummyBankRequest.getCvv())
-                    .balance(dummyBankRequest.getBalance())
+                    .balance(Money.toMinorUnits(dummyBankRequest.getBalance(), ECurrencyCode.IDR))
                     .build();
 
             dummyBank = dummyBankRepo.save(dummyBank);
@@ -61,7 +58,7 @@ public class DummyBankServiceImpl implements DummyBankService {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Customer not found");
             }
             customerService.updateDummyBankId(customerResponse.getId(), dummyBank.getId());
-            String formattedBalance = String.format("%.2f", dummyBank.getBalance());
+            String formattedBalance = Money.toBigDecimal(dummyBank.getBalance(), ECurrencyCode.IDR).toPlainString();
 
             return DummyBankResponse.builder()
                     .id(dummyBank.getId())
@@ -80,7 +77,7 @@ public class DummyBankServiceImpl implements DummyBankService {
         Optional<DummyBank> optionalDummyBank = dummyBankRepo.findById(id);
         if (optionalDummyBank.isPresent()) {
             DummyBank dummyBank = optionalDummyBank.get();
-            String formattedBalance = String.format("%.2f", dummyBank.getBalance());
+            String formattedBalance = Money.toBigDecimal(dummyBank.getBalance(), ECurrencyCode.IDR).toPlainString();
             return DummyBankResponse.builder()
                     .id(dummyBank.getId())
                     .bankNumber(dummyBank.getBankNumber())
@@ -93,29 +90,13 @@ public class DummyBankServiceImpl implements DummyBankService {
 
     @Override
     @Transactional(rollbackFor = Exception.class)
-    public DummyBankResponse reduceBalance(String id, double amount) {
-        // Retrieve the DummyBank entity
-        Optional<DummyBank> optionalDummyBank = dummyBankRepo.findById(id);
-        if (optionalDummyBank.isPresent()) {
-            DummyBank dummyBank = optionalDummyBank.get();
-
-            if (dummyBank.getBalance() >= amount) {
-                dummyBank.setBalance(dummyBank.getBalance() - amount);
-
-                dummyBank = dummyBankRepo.save(dummyBank);
-
-                String formattedBalance = String.format("%.2f", dummyBank.getBalance());
-
-                return DummyBankResponse.builder()
-                        .id(dummyBank.getId())
-                        .bankNumber(dummyBank.getBankNumber())
-                        .balance(formattedBalance)
-                        .build();
-            } else {
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Insufficient balance");
+    public void reduceBalance(String id, long amount) {
+        int updated = dummyBankRepo.debitBalance(id, amount);
+        if (updated == 0) {
+            if (!dummyBankRepo.existsById(id)) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Dummy bank not found");
             }
-        } else {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Dummy bank not found");
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Insufficient balance");
         }
     }
 }
@@ -7,6 +7,7 @@ import com.enigma.superwallet.entity.UserCredential;
 import com.enigma.superwallet.repository.CustomerRepository;
 import com.enigma.superwallet.repository.UserCredentialRepository;
 import com.enigma.superwallet.service.ForgotPasswordService;
+import com.enigma.superwallet.service.TokenRevocationService;
 import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
@@ -26,6 +27,7 @@ public class ForgotPasswordServiceImpl implements ForgotPasswordService {
     private final UserCredentialRepository userCredentialRepository;
     private final PasswordEncoder passwordEncoder;
     private final JavaMailSender javaMailSender;
+    private final TokenRevocationService tokenRevocationService;
 
 
     @Override
@@ -40,6 +42,7 @@ public class ForgotPasswordServiceImpl implements ForgotPasswordService {
             UserCredential user = optionalCustomer.get(); // Ambil UserCredential dari Optional
             user.setPassword(passwordEncoder.encode(newPassword));
             userCredentialRepository.save(user); // Simpan perubahan pada password
+            tokenRevocationService.revokeTokensOf(user.getId());
 
             sendNewPassword(forgotPasswordRequest.getEmail(), newPassword);
 
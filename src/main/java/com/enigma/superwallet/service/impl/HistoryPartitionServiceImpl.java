@@ -0,0 +1,164 @@
+package com.enigma.superwallet.service.impl;
+
+import com.enigma.superwallet.service.HistoryPartitionService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps t_transaction_history as a PostgreSQL table range-partitioned by month on transaction_date.
+ * Hibernate generates the schema as a plain table, so on startup it is swapped for a partitioned copy
+ * carrying the same columns, checks, indexes and foreign keys.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@DependsOn("entityManagerFactory")
+public class HistoryPartitionServiceImpl implements HistoryPartitionService {
+
+    private static final String TABLE = "t_transaction_history";
+    private static final String LEGACY_TABLE = TABLE + "_legacy";
+    private static final String DEFAULT_PARTITION = TABLE + "_default";
+    private static final String PARTITION_PREFIX = TABLE + "_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.super_wallet.history-partitioning.enabled:false}")
+    private boolean enabled;
+    @Value("${app.super_wallet.history-partitioning.months-ahead:3}")
+    private int monthsAhead;
+    @Value("${app.super_wallet.history-partitioning.retention-months:0}")
+    private int retentionMonths;
+    @Value("${app.super_wallet.history-partitioning.archive-schema:archive}")
+    private String archiveSchema;
+
+    private boolean active;
+
+    @PostConstruct
+    public void init() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        active = enabled && "PostgreSQL".equals(database);
+        if (!active) return;
+        if (!isPartitioned()) {
+            transactionTemplate.executeWithoutResult(status -> convertToPartitioned());
+        }
+        createFuturePartitions();
+    }
+
+    @Override
+    @Scheduled(cron = "${app.super_wallet.history-partitioning.cron:0 0 1 * * *}")
+    public void createFuturePartitions() {
+        if (!active) return;
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        for (int i = 0; i <= monthsAhead; i++) {
+            try {
+                createPartition(current.plusMonths(i));
+            } catch (DataAccessException e) {
+                // fails when the default partition already holds rows for that month; those must be moved by hand
+                log.warn("Could not create history partition for {}: {}", current.plusMonths(i),
+                        e.getMostSpecificCause().getMessage());
+            }
+        }
+        if (retentionMonths > 0) {
+            archivePartitionsBefore(current.minusMonths(retentionMonths));
+        }
+    }
+
+    @Override
+    public List<String> archivePartitionsBefore(YearMonth month) {
+        List<String> archived = new ArrayList<>();
+        if (!active) return archived;
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + archiveSchema);
+        for (String partition : listPartitions()) {
+            if (!partition.startsWith(PARTITION_PREFIX)) continue;
+            YearMonth partitionMonth = YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+            if (!partitionMonth.isBefore(month)) continue;
+            // DETACH keeps the rows: the partition becomes a standalone table that can be dumped or dropped later
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition);
+                jdbcTemplate.execute("ALTER TABLE " + partition + " SET SCHEMA " + archiveSchema);
+            });
+            archived.add(archiveSchema + "." + partition);
+        }
+        return archived;
+    }
+
+    private boolean isPartitioned() {
+        String kind = jdbcTemplate.queryForObject(
+                "SELECT relkind::text FROM pg_class WHERE oid = to_regclass(?)", String.class, TABLE);
+        return "p".equals(kind);
+    }
+
+    private void convertToPartitioned() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT indexdef FROM pg_indexes WHERE tablename = ? AND indexname NOT IN (" +
+                        "SELECT conname FROM pg_constraint WHERE conrelid = to_regclass(?) AND contype = 'p')",
+                String.class, TABLE, TABLE);
+        List<Map<String, Object>> foreignKeys = jdbcTemplate.queryForList(
+                "SELECT conname, pg_get_constraintdef(oid) AS definition FROM pg_constraint " +
+                        "WHERE conrelid = to_regclass(?) AND contype = 'f'", TABLE);
+
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + LEGACY_TABLE);
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + " (LIKE " + LEGACY_TABLE + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS) " +
+                "PARTITION BY RANGE (transaction_date)");
+        // a partitioned table's primary key has to contain the partition key
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD PRIMARY KEY (id, transaction_date)");
+        jdbcTemplate.execute("CREATE TABLE " + DEFAULT_PARTITION + " PARTITION OF " + TABLE + " DEFAULT");
+
+        Map<String, Object> range = jdbcTemplate.queryForMap(
+                "SELECT MIN(transaction_date) AS first, MAX(transaction_date) AS last FROM " + LEGACY_TABLE);
+        if (range.get("first") != null) {
+            YearMonth month = toYearMonth(((Number) range.get("first")).longValue());
+            YearMonth last = toYearMonth(((Number) range.get("last")).longValue());
+            for (; !month.isAfter(last); month = month.plusMonths(1)) {
+                createPartition(month);
+            }
+        }
+        jdbcTemplate.execute("INSERT INTO " + TABLE + " SELECT * FROM " + LEGACY_TABLE);
+        jdbcTemplate.execute("DROP TABLE " + LEGACY_TABLE);
+
+        // definitions were read before the rename, so they already target the new parent table
+        for (String index : indexes) {
+            jdbcTemplate.execute(index);
+        }
+        for (Map<String, Object> foreignKey : foreignKeys) {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT " + foreignKey.get("conname") + " " + foreignKey.get("definition"));
+        }
+    }
+
+    private void createPartition(YearMonth month) {
+        long from = month.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+        long to = month.plusMonths(1).atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + PARTITION_PREFIX + month.format(PARTITION_SUFFIX) +
+                " PARTITION OF " + TABLE + " FOR VALUES FROM (" + from + ") TO (" + to + ")");
+    }
+
+    private List<String> listPartitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname::text FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "WHERE i.inhparent = to_regclass(?) ORDER BY c.relname", String.class, TABLE);
+    }
+
+    private YearMonth toYearMonth(long epochMillis) {
+        return YearMonth.from(Instant.ofEpochMilli(epochMillis).atZone(ZoneOffset.UTC));
+    }
+}
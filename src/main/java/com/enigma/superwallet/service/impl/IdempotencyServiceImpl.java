@@ -0,0 +1,227 @@
+package com.enigma.superwallet.service.impl;
+
+import com.enigma.superwallet.dto.response.DefaultResponse;
+import com.enigma.superwallet.entity.AppUser;
+import com.enigma.superwallet.entity.IdempotencyRecord;
+import com.enigma.superwallet.repository.IdempotencyRecordRepository;
+import com.enigma.superwallet.service.IdempotencyService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+@Service
+@RequiredArgsConstructor
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 128;
+    private static final String UNSTORABLE_BODY =
+            "{\"statusCode\":%d,\"message\":\"The request was processed but its response could not be stored\"}";
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.super_wallet.idempotency.ttl-minutes:1440}")
+    private long ttlMinutes;
+    @Value("${app.super_wallet.idempotency.cache-size:10000}")
+    private int cacheSize;
+    @Value("${app.super_wallet.idempotency.wait-timeout-ms:30000}")
+    private long waitTimeoutMs;
+
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private Map<String, StoredResponse> cache;
+
+    private record StoredResponse(int status, String body, long expiresAtMillis) {
+        boolean isExpired(long nowMillis) {
+            return expiresAtMillis < nowMillis;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        cache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    @Override
+    public ResponseEntity<?> execute(String idempotencyKey, String operation, Supplier<ResponseEntity<?>> action) {
+        return execute(idempotencyKey, operation, action, UnaryOperator.identity());
+    }
+
+    @Override
+    public ResponseEntity<?> execute(String idempotencyKey, String operation, Supplier<ResponseEntity<?>> action,
+                                     UnaryOperator<Object> replayOnly) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            return error(HttpStatus.BAD_REQUEST, "Idempotency-Key must not exceed " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String key = scopedKey(operation, idempotencyKey);
+        StoredResponse cached = cache.get(key);
+        if (cached != null && !cached.isExpired(System.currentTimeMillis())) {
+            return replay(cached);
+        }
+
+        CompletableFuture<StoredResponse> own = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(key, own);
+        if (running != null) {
+            return awaitFirstExecution(running);
+        }
+        try {
+            Optional<IdempotencyRecord> existing = idempotencyRecordRepository.findByIdempotencyKey(key);
+            if (existing.isPresent()) {
+                IdempotencyRecord record = existing.get();
+                if (record.getExpiresAt().isAfter(LocalDateTime.now())) {
+                    if (!record.getCompleted()) {
+                        own.complete(null);
+                        return error(HttpStatus.CONFLICT, "A request with this Idempotency-Key is still being processed");
+                    }
+                    StoredResponse stored = new StoredResponse(record.getResponseStatus(), record.getResponseBody(),
+                            toMillis(record.getExpiresAt()));
+                    cache.put(key, stored);
+                    own.complete(stored);
+                    return replay(stored);
+                }
+                idempotencyRecordRepository.delete(record);
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            IdempotencyRecord record = IdempotencyRecord.builder()
+                    .idempotencyKey(key)
+                    .completed(false)
+                    .createdAt(now)
+                    .expiresAt(now.plusMinutes(ttlMinutes))
+                    .build();
+            try {
+                record = idempotencyRecordRepository.saveAndFlush(record);
+            } catch (DataIntegrityViolationException e) {
+                own.complete(null);
+                return error(HttpStatus.CONFLICT, "A request with this Idempotency-Key is still being processed");
+            }
+
+            ResponseEntity<?> response;
+            try {
+                response = action.get();
+            } catch (RuntimeException e) {
+                idempotencyRecordRepository.deletePending(key);
+                own.complete(null);
+                throw e;
+            }
+
+            StoredResponse stored = new StoredResponse(response.getStatusCode().value(),
+                    storableBody(response, replayOnly), toMillis(record.getExpiresAt()));
+            if (response.getStatusCode().is5xxServerError()) {
+                idempotencyRecordRepository.deletePending(key);
+            } else {
+                record.setCompleted(true);
+                record.setResponseStatus(stored.status());
+                record.setResponseBody(stored.body());
+                idempotencyRecordRepository.save(record);
+                cache.put(key, stored);
+            }
+            own.complete(stored);
+            return response;
+        } finally {
+            if (!own.isDone()) own.complete(null);
+            inFlight.remove(key, own);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.super_wallet.idempotency.sweep-interval-ms:600000}")
+    public void sweepExpired() {
+        idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+        long now = System.currentTimeMillis();
+        synchronized (cache) {
+            cache.values().removeIf(stored -> stored.isExpired(now));
+        }
+    }
+
+    private ResponseEntity<?> awaitFirstExecution(CompletableFuture<StoredResponse> running) {
+        try {
+            StoredResponse stored = running.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+            if (stored != null) {
+                return replay(stored);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // fall through to the conflict response, the client may retry with the same key
+        }
+        return error(HttpStatus.CONFLICT, "A request with this Idempotency-Key is still being processed");
+    }
+
+    private ResponseEntity<?> replay(StoredResponse stored) {
+        return ResponseEntity.status(stored.status())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Idempotent-Replayed", "true")
+                .body(stored.body());
+    }
+
+    private ResponseEntity<?> error(HttpStatus status, String message) {
+        return ResponseEntity.status(status)
+                .body(DefaultResponse.builder()
+                        .statusCode(status.value())
+                        .message(message)
+                        .build());
+    }
+
+    private String scopedKey(String operation, String idempotencyKey) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        // scoped by the token subject, the stateless principal carries no email
+        String principal = authentication != null && authentication.getPrincipal() instanceof AppUser appUser
+                ? appUser.getId() : "anonymous";
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest((operation + ':' + principal + ':' + idempotencyKey).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String storableBody(ResponseEntity<?> response, UnaryOperator<Object> replayOnly) {
+        try {
+            return toJson(replayOnly.apply(response.getBody()));
+        } catch (IllegalStateException e) {
+            // the action already ran, so the key must still complete or the client is locked out for the whole TTL
+            return String.format(UNSTORABLE_BODY, response.getStatusCode().value());
+        }
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize idempotent response", e);
+        }
+    }
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
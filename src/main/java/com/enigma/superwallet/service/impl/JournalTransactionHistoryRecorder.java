@@ -0,0 +1,367 @@
+package com.enigma.superwallet.service.impl;
+
+import com.enigma.superwallet.entity.TransactionHistory;
+import com.enigma.superwallet.service.TransactionHistoryRecorder;
+import com.enigma.superwallet.util.UuidV7;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+/**
+ * Write-behind recorder: the history row is fsynced to a local journal before the balance
+ * transaction commits, and a background flusher drains committed rows into t_transaction_history.
+ * Rows whose commit outcome was not journaled before a crash are resolved against t_ledger_entry,
+ * which is written in the same transaction as the balance update.
+ */
+@Service
+@RequiredArgsConstructor
+@DependsOn({"entityManagerFactory", "historyPartitionServiceImpl"})
+@ConditionalOnProperty(name = "app.super_wallet.history-journal.enabled", havingValue = "true")
+public class JournalTransactionHistoryRecorder implements TransactionHistoryRecorder {
+
+    private static final String INSERT_HISTORY_SQL =
+            "INSERT INTO t_transaction_history (id, transaction_date, source_account_id, destination_account_id, " +
+                    "amount, transaction_type_id, fee, withdrawal_code) VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+                    "ON CONFLICT DO NOTHING";
+    private static final String SEGMENT_PREFIX = "history-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String RECORD = "R";
+    private static final String COMMITTED = "C";
+    private static final String ABORTED = "A";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.super_wallet.history-journal.directory:./journal}")
+    private String directory;
+    @Value("${app.super_wallet.history-journal.segment-bytes:67108864}")
+    private long segmentBytes;
+    @Value("${app.super_wallet.history-journal.flush-batch-size:1000}")
+    private int flushBatchSize;
+
+    private final Object writeLock = new Object();
+    private final Object syncLock = new Object();
+    private final Map<String, Pending> unresolved = new ConcurrentHashMap<>();
+    private final Queue<Pending> ready = new ConcurrentLinkedQueue<>();
+    private final Map<Long, AtomicInteger> outstandingBySegment = new ConcurrentHashMap<>();
+
+    private Path journalDirectory;
+    private FileChannel channel;
+    private long segment;
+    private long written;
+    private volatile long synced;
+
+    private record Pending(long segment, Object[] row) {
+        String id() {
+            return (String) row[0];
+        }
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        journalDirectory = Paths.get(directory);
+        Files.createDirectories(journalDirectory);
+        List<Path> segments = listSegments();
+        replay(segments);
+        for (Path path : segments) {
+            Files.delete(path);
+        }
+        segment = segments.isEmpty() ? 0 : segmentIndex(segments.get(segments.size() - 1)) + 1;
+        openSegment();
+    }
+
+    @Override
+    public String record(TransactionHistory transactionHistory) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("The history journal must be used inside a transaction");
+        }
+        transactionHistory.setId(UuidV7.generate());
+        Object[] row = toRow(transactionHistory);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                // the row must be durable before the balance change it describes becomes visible
+                long recordSegment = appendDurably(encode(RECORD, row));
+                unresolved.put(transactionHistory.getId(), new Pending(recordSegment, row));
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                Pending pending = unresolved.remove(transactionHistory.getId());
+                if (pending == null) return;
+                if (status == STATUS_COMMITTED) {
+                    append(encode(COMMITTED, pending.id()));
+                    ready.add(pending);
+                } else {
+                    append(encode(ABORTED, pending.id()));
+                    release(pending.segment());
+                }
+            }
+        });
+        return transactionHistory.getId();
+    }
+
+    @Scheduled(fixedDelayString = "${app.super_wallet.history-journal.flush-interval-ms:200}")
+    public void flush() {
+        List<Pending> batch = new ArrayList<>(flushBatchSize);
+        Pending pending;
+        while ((pending = ready.poll()) != null) {
+            batch.add(pending);
+            if (batch.size() == flushBatchSize) {
+                insert(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) insert(batch);
+        rollSegmentIfFull();
+        deleteReleasedSegments();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        flush();
+        synchronized (syncLock) {
+            synchronized (writeLock) {
+                channel.force(false);
+                channel.close();
+            }
+        }
+    }
+
+    private void insert(List<Pending> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_HISTORY_SQL, batch.stream().map(Pending::row).toList());
+        } catch (RuntimeException e) {
+            // keep the rows for the next run, they are still in the journal if the process dies meanwhile
+            ready.addAll(batch);
+            throw e;
+        }
+        for (Pending flushed : batch) {
+            release(flushed.segment());
+        }
+    }
+
+    private long appendDurably(String line) {
+        long end;
+        long recordSegment;
+        synchronized (writeLock) {
+            end = write(line);
+            recordSegment = segment;
+            outstandingBySegment.get(recordSegment).incrementAndGet();
+        }
+        sync(end);
+        return recordSegment;
+    }
+
+    private void append(String line) {
+        synchronized (writeLock) {
+            write(line);
+        }
+    }
+
+    private long write(String line) {
+        ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+        try {
+            while (buffer.hasRemaining()) {
+                written += channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to the history journal", e);
+        }
+        return written;
+    }
+
+    // group commit: whichever thread gets the lock first forces every byte written so far
+    private void sync(long position) {
+        if (synced >= position) return;
+        synchronized (syncLock) {
+            if (synced >= position) return;
+            long target;
+            synchronized (writeLock) {
+                target = written;
+            }
+            try {
+                channel.force(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to sync the history journal", e);
+            }
+            synced = target;
+        }
+    }
+
+    private void release(long recordSegment) {
+        AtomicInteger outstanding = outstandingBySegment.get(recordSegment);
+        if (outstanding != null) outstanding.decrementAndGet();
+    }
+
+    private void rollSegmentIfFull() {
+        synchronized (syncLock) {
+            synchronized (writeLock) {
+                try {
+                    if (channel.size() < segmentBytes) return;
+                    channel.force(false);
+                    synced = written;
+                    channel.close();
+                    segment++;
+                    openSegment();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to roll the history journal", e);
+                }
+            }
+        }
+    }
+
+    private void deleteReleasedSegments() {
+        long current;
+        synchronized (writeLock) {
+            current = segment;
+        }
+        for (Map.Entry<Long, AtomicInteger> entry : outstandingBySegment.entrySet()) {
+            if (entry.getKey() < current && entry.getValue().get() == 0) {
+                try {
+                    Files.deleteIfExists(segmentPath(entry.getKey()));
+                } catch (IOException e) {
+                    continue;
+                }
+                outstandingBySegment.remove(entry.getKey());
+            }
+        }
+    }
+
+    private void openSegment() throws IOException {
+        channel = FileChannel.open(segmentPath(segment),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        outstandingBySegment.put(segment, new AtomicInteger());
+    }
+
+    private void replay(List<Path> segments) throws IOException {
+        Map<String, Object[]> rows = new LinkedHashMap<>();
+        Set<String> committed = new HashSet<>();
+        Set<String> aborted = new HashSet<>();
+        for (Path path : segments) {
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] fields = decode(line);
+                    // a torn write can only be the tail of the segment that was open during the crash
+                    if (fields == null) break;
+                    switch (fields[0]) {
+                        case RECORD -> rows.put(fields[1], fromFields(fields));
+                        case COMMITTED -> committed.add(fields[1]);
+                        case ABORTED -> aborted.add(fields[1]);
+                        default -> {
+                        }
+                    }
+                }
+            }
+        }
+        rows.keySet().removeAll(aborted);
+        List<String> undecided = rows.keySet().stream().filter(id -> !committed.contains(id)).toList();
+        Set<String> landed = new HashSet<>();
+        for (int from = 0; from < undecided.size(); from += flushBatchSize) {
+            List<String> ids = undecided.subList(from, Math.min(from + flushBatchSize, undecided.size()));
+            String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+            landed.addAll(jdbcTemplate.queryForList(
+                    "SELECT DISTINCT movement_id FROM t_ledger_entry WHERE movement_id IN (" + placeholders + ")",
+                    String.class, ids.toArray()));
+        }
+        List<Object[]> toInsert = rows.entrySet().stream()
+                .filter(entry -> committed.contains(entry.getKey()) || landed.contains(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .toList();
+        for (int from = 0; from < toInsert.size(); from += flushBatchSize) {
+            jdbcTemplate.batchUpdate(INSERT_HISTORY_SQL, toInsert.subList(from, Math.min(from + flushBatchSize, toInsert.size())));
+        }
+    }
+
+    private List<Path> listSegments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(journalDirectory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(segments::add);
+        }
+        segments.sort(Comparator.comparingLong(this::segmentIndex));
+        return segments;
+    }
+
+    private Path segmentPath(long index) {
+        return journalDirectory.resolve(SEGMENT_PREFIX + String.format("%020d", index) + SEGMENT_SUFFIX);
+    }
+
+    private long segmentIndex(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static Object[] toRow(TransactionHistory history) {
+        return new Object[]{
+                history.getId(),
+                history.getTransactionDate(),
+                history.getSourceAccount().getId(),
+                history.getDestinationAccount().getId(),
+                history.getAmount(),
+                history.getTransactionType() != null ? history.getTransactionType().getId() : null,
+                history.getFee(),
+                history.getWithdrawalCode() != null ? history.getWithdrawalCode() : ""
+        };
+    }
+
+    private static Object[] fromFields(String[] fields) {
+        return new Object[]{
+                fields[1],
+                Long.parseLong(fields[2]),
+                fields[3],
+                fields[4],
+                Long.parseLong(fields[5]),
+                fields[6].isEmpty() ? null : fields[6],
+                Long.parseLong(fields[7]),
+                fields[8]
+        };
+    }
+
+    private static String encode(String type, Object... values) {
+        StringBuilder body = new StringBuilder(type);
+        for (Object value : values) {
+            body.append('|').append(value != null ? value : "");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(body.toString().getBytes(StandardCharsets.UTF_8));
+        return body.append('|').append(Long.toHexString(crc.getValue())).append('\n').toString();
+    }
+
+    private static String[] decode(String line) {
+        int separator = line.lastIndexOf('|');
+        if (separator < 0) return null;
+        String body = line.substring(0, separator);
+        CRC32 crc = new CRC32();
+        crc.update(body.getBytes(StandardCharsets.UTF_8));
+        if (!Long.toHexString(crc.getValue()).equals(line.substring(separator + 1))) return null;
+        String[] fields = body.split("\\|", -1);
+        if (RECORD.equals(fields[0]) && fields.length != 9) return null;
+        if (!RECORD.equals(fields[0]) && fields.length != 2) return null;
+        return fields;
+    }
+}
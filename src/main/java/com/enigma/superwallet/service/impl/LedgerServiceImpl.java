@@ -0,0 +1,107 @@
+package com.enigma.superwallet.service.impl;
+
+import com.enigma.superwallet.constant.ECurrencyCode;
+import com.enigma.superwallet.constant.ELedgerDirection;
+import com.enigma.superwallet.entity.Account;
+import com.enigma.superwallet.entity.BalanceCheckpoint;
+import com.enigma.superwallet.entity.Money;
+import com.enigma.superwallet.repository.AccountRepository;
+import com.enigma.superwallet.repository.BalanceCheckpointRepository;
+import com.enigma.superwallet.repository.LedgerEntryRepository;
+import com.enigma.superwallet.service.AccountService;
+import com.enigma.superwallet.service.LedgerService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class LedgerServiceImpl implements LedgerService {
+
+    private static final String INSERT_ENTRY_SQL =
+            "INSERT INTO t_ledger_entry (id, movement_id, account_ref, currency, direction, amount, created_at, tx_id) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, pg_current_xact_id()::text::bigint)";
+    // no transaction older than this is still running, so every entry below it is committed or gone for good
+    private static final String TX_HORIZON_SQL = "SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint";
+
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final BalanceCheckpointRepository balanceCheckpointRepository;
+    private final AccountRepository accountRepository;
+    private final AccountService accountService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void record(String movementId, String debitAccount, String creditAccount, ECurrencyCode currency, long amount) {
+        record(List.of(new Posting(movementId, debitAccount, creditAccount, currency, amount)));
+    }
+
+    @Override
+    public void record(List<Posting> postings) {
+        long createdAt = Instant.now().toEpochMilli();
+        List<Object[]> rows = new ArrayList<>(postings.size() * 2);
+        for (Posting posting : postings) {
+            if (posting.amount() <= 0) continue;
+            rows.add(entry(posting, posting.debitAccount(), ELedgerDirection.DEBIT, createdAt));
+            rows.add(entry(posting, posting.creditAccount(), ELedgerDirection.CREDIT, createdAt));
+        }
+        if (rows.isEmpty()) return;
+        jdbcTemplate.batchUpdate(INSERT_ENTRY_SQL, rows);
+    }
+
+    private Object[] entry(Posting posting, String accountRef, ELedgerDirection direction, long createdAt) {
+        return new Object[]{UUID.randomUUID().toString(), posting.movementId(), accountRef,
+                posting.currency().name(), direction.name(), posting.amount(), createdAt};
+    }
+
+    @Override
+    @Transactional
+    public Money rebuildBalance(String accountId) {
+        // the row lock waits for in-flight movements on this account, so every entry they wrote is visible
+        Account account = accountRepository.findByIdForUpdate(accountId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Account not found"));
+        ECurrencyCode currency = account.getCurrency().getCode();
+
+        BalanceCheckpoint checkpoint = balanceCheckpointRepository.findById(checkpointId(accountId, currency)).orElse(null);
+        if (checkpoint == null && account.getBalance() != 0
+                && !ledgerEntryRepository.existsByAccountRefAndCurrency(accountId, currency)) {
+            // a balance from before the ledger existed; rebuilding would reset it to zero
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Account has no ledger history, post its opening balance (db/ledger-opening-balances.sql) first");
+        }
+        long base = checkpoint != null ? checkpoint.getBalance() : 0L;
+        long from = checkpoint != null ? checkpoint.getTxHorizon() : 0L;
+        long balance = base + ledgerEntryRepository.sumSince(accountId, currency, from, ELedgerDirection.CREDIT);
+
+        if (balance != account.getBalance()) {
+            account.setBalance(balance);
+            account.setUpdatedAt(LocalDateTime.now());
+            accountService.invalidate(accountId);
+        }
+        return Money.of(balance, currency);
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${app.super_wallet.ledger.checkpoint-interval-ms:300000}")
+    public void checkpointBalances() {
+        // ordered by transaction id, not created_at, so a long transaction can never commit entries behind a checkpoint
+        Long horizon = jdbcTemplate.queryForObject(TX_HORIZON_SQL, Long.class);
+        if (horizon == null) return;
+        balanceCheckpointRepository.advanceCheckpoints(horizon);
+        balanceCheckpointRepository.createMissingCheckpoints(horizon);
+    }
+
+    private String checkpointId(String accountRef, ECurrencyCode currency) {
+        return accountRef + ":" + currency.name();
+    }
+}
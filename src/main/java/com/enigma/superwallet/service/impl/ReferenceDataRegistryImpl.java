@@ -0,0 +1,98 @@
+package com.enigma.superwallet.service.impl;
+
+import com.enigma.superwallet.constant.ECurrencyCode;
+import com.enigma.superwallet.constant.ERole;
+import com.enigma.superwallet.constant.ETransactionType;
+import com.enigma.superwallet.entity.Currency;
+import com.enigma.superwallet.entity.Role;
+import com.enigma.superwallet.entity.TransactionType;
+import com.enigma.superwallet.repository.CurrencyRepository;
+import com.enigma.superwallet.repository.RoleRepository;
+import com.enigma.superwallet.repository.TransactionTypeRepository;
+import com.enigma.superwallet.service.ReferenceDataRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@DependsOn("entityManagerFactory")
+public class ReferenceDataRegistryImpl implements ReferenceDataRegistry {
+
+    private final CurrencyRepository currencyRepository;
+    private final TransactionTypeRepository transactionTypeRepository;
+    private final RoleRepository roleRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // swapped as a whole on refresh, so readers never see a half-built set
+    private volatile Snapshot snapshot;
+
+    private record Snapshot(Map<ECurrencyCode, Currency> currencies,
+                            Map<ETransactionType, TransactionType> transactionTypes,
+                            Map<ERole, Role> roles) {
+    }
+
+    @PostConstruct
+    public void init() {
+        refresh();
+    }
+
+    @Override
+    public Currency currency(ECurrencyCode code) {
+        return snapshot.currencies().get(code);
+    }
+
+    @Override
+    public TransactionType transactionType(ETransactionType type) {
+        return snapshot.transactionTypes().get(type);
+    }
+
+    @Override
+    public Role role(ERole roleName) {
+        return snapshot.roles().get(roleName);
+    }
+
+    @Override
+    public void refresh() {
+        try {
+            snapshot = transactionTemplate.execute(status -> load());
+        } catch (DataIntegrityViolationException e) {
+            // another instance seeded the same rows first; theirs are the ones to use
+            snapshot = transactionTemplate.execute(status -> load());
+        }
+    }
+
+    private Snapshot load() {
+        Map<ECurrencyCode, Currency> currencies = new EnumMap<>(ECurrencyCode.class);
+        currencyRepository.findAll().forEach(currency -> currencies.putIfAbsent(currency.getCode(), currency));
+        for (ECurrencyCode code : ECurrencyCode.values()) {
+            currencies.computeIfAbsent(code, missing -> currencyRepository.saveAndFlush(
+                    Currency.builder().code(missing).name(missing.currencyName).build()));
+        }
+
+        Map<ETransactionType, TransactionType> transactionTypes = new EnumMap<>(ETransactionType.class);
+        transactionTypeRepository.findAll().forEach(type -> transactionTypes.putIfAbsent(type.getTransactionType(), type));
+        for (ETransactionType type : ETransactionType.values()) {
+            transactionTypes.computeIfAbsent(type, missing -> transactionTypeRepository.saveAndFlush(
+                    TransactionType.builder().transactionType(missing).build()));
+        }
+
+        Map<ERole, Role> roles = new EnumMap<>(ERole.class);
+        roleRepository.findAll().forEach(role -> roles.putIfAbsent(role.getRoleName(), role));
+        for (ERole roleName : ERole.values()) {
+            roles.computeIfAbsent(roleName, missing -> roleRepository.saveAndFlush(
+                    Role.builder().roleName(missing).build()));
+        }
+
+        return new Snapshot(Collections.unmodifiableMap(currencies),
+                Collections.unmodifiableMap(transactionTypes),
+                Collections.unmodifiableMap(roles));
+    }
+}
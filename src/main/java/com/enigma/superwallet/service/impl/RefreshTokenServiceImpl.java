@@ -0,0 +1,119 @@
+package com.enigma.superwallet.service.impl;
+
+import com.enigma.superwallet.constant.ERole;
+import com.enigma.superwallet.dto.response.RefreshTokenResponse;
+import com.enigma.superwallet.entity.AppUser;
+import com.enigma.superwallet.entity.RefreshToken;
+import com.enigma.superwallet.repository.RefreshTokenRepository;
+import com.enigma.superwallet.security.JwtUtil;
+import com.enigma.superwallet.service.RefreshTokenService;
+import com.enigma.superwallet.service.TokenRevocationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Opaque, single-use refresh tokens. Each refresh consumes the presented token and hands out its successor
+ * in the same family; presenting an already consumed token means a copy of that family leaked, so the family
+ * is revoked along with the user's outstanding access tokens. Other sessions keep their refresh tokens and
+ * simply refresh again.
+ */
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtUtil jwtUtil;
+    private final TokenRevocationService tokenRevocationService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.super_wallet.jwt.refresh-token-expiration-in-second:2592000}")
+    private long refreshTokenExpirationInSecond;
+
+    @Override
+    public String issue(AppUser appUser, String customerId) {
+        return issue(UUID.randomUUID().toString(), appUser.getId(), customerId, appUser.getRole(),
+                Instant.now().toEpochMilli());
+    }
+
+    @Override
+    public RefreshTokenResponse refresh(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Refresh token is required");
+        }
+        String tokenHash = hash(refreshToken);
+        long now = Instant.now().toEpochMilli();
+        RefreshTokenResponse rotated = transactionTemplate.execute(status -> rotate(tokenHash, now));
+        if (rotated != null) {
+            return rotated;
+        }
+        // outside the rotation transaction so the revocation is not rolled back with the 401
+        refreshTokenRepository.findByTokenHash(tokenHash)
+                .filter(presented -> presented.getUsedAt() != null && !presented.getRevoked())
+                .ifPresent(presented -> {
+                    refreshTokenRepository.revokeFamily(presented.getFamilyId());
+                    tokenRevocationService.revokeAccessTokensOf(presented.getUserId());
+                });
+        throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid or expired refresh token");
+    }
+
+    @Scheduled(fixedDelayString = "${app.super_wallet.jwt.refresh-token-sweep-interval-ms:3600000}")
+    public void deleteExpired() {
+        refreshTokenRepository.deleteExpired(Instant.now().toEpochMilli());
+    }
+
+    private RefreshTokenResponse rotate(String tokenHash, long now) {
+        // consuming the token is one conditional update, so two concurrent refreshes cannot both rotate it
+        if (refreshTokenRepository.markUsed(tokenHash, now) == 0) {
+            return null;
+        }
+        RefreshToken current = refreshTokenRepository.findByTokenHash(tokenHash).orElseThrow();
+        String next = issue(current.getFamilyId(), current.getUserId(), current.getCustomerId(), current.getRole(), now);
+        return RefreshTokenResponse.builder()
+                .token(jwtUtil.generateToken(current.getUserId(), current.getRole(), current.getCustomerId()))
+                .refreshToken(next)
+                .role(current.getRole().name())
+                .build();
+    }
+
+    private String issue(String familyId, String userId, String customerId, ERole role, long now) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(token))
+                .familyId(familyId)
+                .userId(userId)
+                .customerId(customerId)
+                .role(role)
+                .createdAt(now)
+                .expiresAt(now + refreshTokenExpirationInSecond * 1000)
+                .revoked(false)
+                .build());
+        return token;
+    }
+
+    private String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
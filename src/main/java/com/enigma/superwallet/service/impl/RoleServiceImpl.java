@@ -1,23 +1,17 @@
 package com.enigma.superwallet.service.impl;
 
 import com.enigma.superwallet.entity.Role;
-import com.enigma.superwallet.repository.RoleRepository;
 import com.enigma.superwallet.service.RoleService;
+import com.enigma.superwallet.service.ReferenceDataRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
-
 @Service
 @RequiredArgsConstructor
 public class RoleServiceImpl implements RoleService {
-    private final RoleRepository roleRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
     @Override
     public Role getOrSave(Role role) {
-        Optional<Role> optionalRole = roleRepository.findByRoleName(role.getRoleName());
-        if(!optionalRole.isEmpty()){
-            return optionalRole.get();
-        }
-        return roleRepository.save(role);
+        return referenceDataRegistry.role(role.getRoleName());
     }
 }
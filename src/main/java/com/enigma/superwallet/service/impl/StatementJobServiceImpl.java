@@ -0,0 +1,249 @@
+package com.enigma.superwallet.service.impl;
+
+import com.enigma.superwallet.constant.ECurrencyCode;
+import com.enigma.superwallet.constant.ELedgerDirection;
+import com.enigma.superwallet.dto.response.StatementJobResponse;
+import com.enigma.superwallet.entity.Money;
+import com.enigma.superwallet.service.StatementJobService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StatementJobServiceImpl implements StatementJobService {
+
+    private static final String ACCOUNTS_SQL =
+            "SELECT a.id, c.code FROM m_account a JOIN m_currency c ON c.id = a.currency_id ORDER BY a.id";
+    private static final String SIGNED_SUM = "COALESCE(SUM(CASE WHEN direction = 'CREDIT' THEN amount ELSE -amount END), 0)";
+    private static final String OPENING_BALANCE_SQL =
+            "SELECT " + SIGNED_SUM + " FROM t_ledger_entry WHERE account_ref = ? AND currency = ? AND created_at < ?";
+    // the checkpoint holds every entry below its horizon: take back the ones from the month onwards and add
+    // the ones above the horizon created before it; one statement, so a concurrent checkpoint cannot tear it
+    private static final String OPENING_FROM_CHECKPOINT_SQL =
+            "SELECT c.balance " +
+                    "+ (SELECT " + SIGNED_SUM + " FROM t_ledger_entry e WHERE e.account_ref = c.account_ref " +
+                    "AND e.currency = c.currency AND e.tx_id >= c.tx_horizon AND e.created_at < ?) " +
+                    "- (SELECT " + SIGNED_SUM + " FROM t_ledger_entry e WHERE e.account_ref = c.account_ref " +
+                    "AND e.currency = c.currency AND e.created_at >= ? AND e.tx_id < c.tx_horizon) " +
+                    "FROM t_balance_checkpoint c WHERE c.account_ref = ? AND c.currency = ?";
+    private static final String ENTRIES_SQL =
+            "SELECT e.created_at, e.direction, e.amount, e.movement_id, t.transaction_type, h.withdrawal_code " +
+                    "FROM t_ledger_entry e " +
+                    "LEFT JOIN t_transaction_history h ON h.id = e.movement_id::uuid " +
+                    "LEFT JOIN m_transaction_type t ON t.id = h.transaction_type_id " +
+                    "WHERE e.account_ref = ? AND e.currency = ? AND e.created_at >= ? AND e.created_at < ? " +
+                    "ORDER BY e.created_at, e.id";
+    private static final int PROGRESS_INTERVAL = 100;
+    private static final String CSV_HEADER = "date,reference,transaction_type,direction,amount,balance,withdrawal_code\n";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.super_wallet.statement.directory:./statements}")
+    private String directory;
+    @Value("${app.super_wallet.statement.parallelism:4}")
+    private int parallelism;
+    @Value("${app.super_wallet.statement.range-size:500}")
+    private int rangeSize;
+    @Value("${app.super_wallet.statement.fetch-size:1000}")
+    private int fetchSize;
+
+    private JdbcTemplate streamingJdbcTemplate;
+    private final ExecutorService jobRunner = Executors.newSingleThreadExecutor();
+    private final AtomicReference<StatementJobResponse> current = new AtomicReference<>(
+            StatementJobResponse.builder().status("IDLE").build());
+
+    private record StatementAccount(String id, ECurrencyCode currency) {
+    }
+
+    @PostConstruct
+    public void init() {
+        streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        streamingJdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    @Override
+    public synchronized StatementJobResponse start(YearMonth month) {
+        if ("RUNNING".equals(current.get().getStatus())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A statement job is already running for " + current.get().getMonth());
+        }
+        StatementJobResponse started = StatementJobResponse.builder()
+                .month(month.toString())
+                .status("RUNNING")
+                .startedAt(LocalDateTime.now())
+                .build();
+        current.set(started);
+        jobRunner.submit(() -> run(month));
+        return started;
+    }
+
+    @Override
+    public StatementJobResponse status() {
+        return current.get();
+    }
+
+    @Scheduled(cron = "${app.super_wallet.statement.cron:0 0 2 1 * *}")
+    public void generatePreviousMonth() {
+        if ("RUNNING".equals(current.get().getStatus())) return;
+        start(YearMonth.now().minusMonths(1));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobRunner.shutdownNow();
+    }
+
+    private void run(YearMonth month) {
+        AtomicInteger written = new AtomicInteger();
+        AtomicInteger skipped = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicInteger processed = new AtomicInteger();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            Path monthDirectory = Paths.get(directory, month.toString());
+            Files.createDirectories(monthDirectory);
+            long from = month.atDay(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            long to = month.plusMonths(1).atDay(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+            List<StatementAccount> accounts = jdbcTemplate.query(ACCOUNTS_SQL, (rs, rowNum) ->
+                    new StatementAccount(rs.getString(1), ECurrencyCode.valueOf(rs.getString(2))));
+            current.set(current.get().toBuilder().totalAccounts(accounts.size()).build());
+
+            List<Future<?>> ranges = new ArrayList<>();
+            for (int start = 0; start < accounts.size(); start += rangeSize) {
+                List<StatementAccount> range = accounts.subList(start, Math.min(start + rangeSize, accounts.size()));
+                ranges.add(pool.submit(() -> {
+                    for (StatementAccount account : range) {
+                        Path target = monthDirectory.resolve(account.id() + ".csv.gz");
+                        // a finished statement is only ever renamed into place, so its presence is the checkpoint
+                        if (Files.exists(target)) {
+                            skipped.incrementAndGet();
+                        } else {
+                            try {
+                                writeStatement(account, from, to, target);
+                                written.incrementAndGet();
+                            } catch (RuntimeException | IOException e) {
+                                log.error("Statement for account {} ({}) failed", account.id(), month, e);
+                                failed.incrementAndGet();
+                            }
+                        }
+                        if (processed.incrementAndGet() % PROGRESS_INTERVAL == 0) {
+                            publishProgress(written, skipped, failed);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> range : ranges) {
+                range.get();
+            }
+            finish(failed.get() == 0 ? "COMPLETED" : "COMPLETED_WITH_ERRORS", null, written, skipped, failed);
+        } catch (Exception e) {
+            log.error("Statement job for {} failed", month, e);
+            finish("FAILED", e.getMessage(), written, skipped, failed);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void publishProgress(AtomicInteger written, AtomicInteger skipped, AtomicInteger failed) {
+        current.updateAndGet(job -> job.toBuilder()
+                .written(written.get())
+                .skipped(skipped.get())
+                .failed(failed.get())
+                .build());
+    }
+
+    private void finish(String status, String message, AtomicInteger written, AtomicInteger skipped, AtomicInteger failed) {
+        current.set(current.get().toBuilder()
+                .status(status)
+                .message(message)
+                .written(written.get())
+                .skipped(skipped.get())
+                .failed(failed.get())
+                .finishedAt(LocalDateTime.now())
+                .build());
+    }
+
+    private void writeStatement(StatementAccount account, long from, long to, Path target) throws IOException {
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(temporary), 64 * 1024), StandardCharsets.UTF_8))) {
+            // the cursor only streams with a fetch size inside a transaction on PostgreSQL
+            transactionTemplate.executeWithoutResult(status -> {
+                try {
+                    writeRows(writer, account, from, to);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (RuntimeException | IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private long openingBalance(String accountId, ECurrencyCode currency, long from) {
+        List<Long> fromCheckpoint = jdbcTemplate.queryForList(OPENING_FROM_CHECKPOINT_SQL, Long.class,
+                from, from, accountId, currency.name());
+        if (!fromCheckpoint.isEmpty() && fromCheckpoint.get(0) != null) {
+            return fromCheckpoint.get(0);
+        }
+        // no checkpoint yet for this account, only then the whole history is summed
+        Long opening = jdbcTemplate.queryForObject(OPENING_BALANCE_SQL, Long.class, accountId, currency.name(), from);
+        return opening != null ? opening : 0L;
+    }
+
+    private void writeRows(Writer writer, StatementAccount account, long from, long to) throws IOException {
+        ECurrencyCode currency = account.currency();
+        long[] balance = {openingBalance(account.id(), currency, from)};
+        writer.write(CSV_HEADER);
+        writer.write(Instant.ofEpochMilli(from).atZone(ZoneId.systemDefault()).toLocalDateTime()
+                + ",,OPENING_BALANCE,,," + Money.format(balance[0], currency) + ",\n");
+
+        streamingJdbcTemplate.query(ENTRIES_SQL, rs -> {
+            long amount = rs.getLong("amount");
+            boolean credit = ELedgerDirection.CREDIT.name().equals(rs.getString("direction"));
+            balance[0] += credit ? amount : -amount;
+            String withdrawalCode = rs.getString("withdrawal_code");
+            try {
+                writer.write(Instant.ofEpochMilli(rs.getLong("created_at")).atZone(ZoneId.systemDefault()).toLocalDateTime()
+                        + "," + rs.getString("movement_id")
+                        + "," + (rs.getString("transaction_type") != null ? rs.getString("transaction_type") : "")
+                        + "," + (credit ? "IN" : "OUT")
+                        + "," + Money.format(amount, currency)
+                        + "," + Money.format(balance[0], currency)
+                        + "," + (withdrawalCode != null ? withdrawalCode : "") + "\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, account.id(), currency.name(), from, to);
+    }
+}
@@ -0,0 +1,55 @@
+package com.enigma.superwallet.service.impl;
+
+import com.enigma.superwallet.repository.RefreshTokenRepository;
+import com.enigma.superwallet.service.TokenRevocationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Access tokens are only ever revoked wholesale per user (password reset, deactivation, refresh token reuse),
+ * so one timestamp per user is enough: every token issued before it is rejected. An entry is useless once all
+ * tokens it could match have expired on their own, which keeps the map down to users revoked within the last
+ * token lifetime. Refresh tokens live much longer and are revoked in their table instead.
+ */
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${app.super_wallet.jwt.jwtExpirationInSecond}")
+    private long jwtExpirationInSecond;
+
+    private final Map<String, Long> revokedBefore = new ConcurrentHashMap<>();
+
+    @Override
+    public void revokeTokensOf(String userId) {
+        revokeAccessTokensOf(userId);
+        refreshTokenRepository.revokeAllOfUser(userId);
+    }
+
+    @Override
+    public void revokeAccessTokensOf(String userId) {
+        revokedBefore.put(userId, System.currentTimeMillis());
+    }
+
+    @Override
+    public boolean isRevoked(String userId, Instant issuedAt) {
+        Long revokedAt = revokedBefore.get(userId);
+        // issue times carry milliseconds, so another session's token minted right after a family revocation stays
+        // valid; a token with only the second-precision iat reads as the start of its second and is rejected
+        return revokedAt != null && (issuedAt == null || issuedAt.toEpochMilli() <= revokedAt);
+    }
+
+    @Scheduled(fixedDelayString = "${app.super_wallet.jwt.revocation-sweep-interval-ms:600000}")
+    public void purgeExpired() {
+        long cutoff = System.currentTimeMillis() - jwtExpirationInSecond * 1000;
+        revokedBefore.values().removeIf(revokedAt -> revokedAt < cutoff);
+    }
+}
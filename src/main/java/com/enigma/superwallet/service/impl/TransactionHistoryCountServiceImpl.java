@@ -0,0 +1,118 @@
+package com.enigma.superwallet.service.impl;
+
+import com.enigma.superwallet.entity.TransactionHistory;
+import com.enigma.superwallet.repository.TransactionRepositroy;
+import com.enigma.superwallet.service.TransactionHistoryCountService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Service
+@RequiredArgsConstructor
+public class TransactionHistoryCountServiceImpl implements TransactionHistoryCountService {
+
+    private static final long UNKNOWN = -1;
+
+    // once the table is partitioned the parent is never analyzed, so the estimate is summed over its partitions
+    private static final String PLANNER_ESTIMATE_SQL =
+            "SELECT CASE WHEN bool_or(c.reltuples >= 0) THEN SUM(GREATEST(c.reltuples, 0))::bigint ELSE -1 END " +
+                    "FROM pg_class c WHERE (c.oid = 't_transaction_history'::regclass AND c.relkind <> 'p') " +
+                    "OR c.oid IN (SELECT i.inhrelid FROM pg_inherits i WHERE i.inhparent = 't_transaction_history'::regclass)";
+
+    private final TransactionRepositroy transactionRepositroy;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.super_wallet.history-count.cache-size:1000}")
+    private int cacheSize;
+    @Value("${app.super_wallet.history-count.idle-ms:600000}")
+    private long idleMs;
+    @Value("${app.super_wallet.history-count.refresh-batch-size:50}")
+    private int refreshBatchSize;
+
+    private final Map<String, CachedCount> counts = new ConcurrentHashMap<>();
+    // exact counts never run on a request thread
+    private final ExecutorService counter = Executors.newSingleThreadExecutor();
+
+    private static class CachedCount {
+        private final Specification<TransactionHistory> specification;
+        private volatile long count = UNKNOWN;
+        private volatile long lastAccess = System.currentTimeMillis();
+        private volatile long refreshedAt;
+
+        private CachedCount(Specification<TransactionHistory> specification) {
+            this.specification = specification;
+        }
+    }
+
+    @Override
+    public long estimateTotal() {
+        long estimate = plannerEstimate();
+        // reltuples is -1 until the table (or any of its partitions) has been vacuumed or analyzed once
+        if (estimate < 0) {
+            return cachedCount("", Specification.where(null));
+        }
+        return estimate;
+    }
+
+    @Override
+    public long cachedCount(String filterKey, Specification<TransactionHistory> specification) {
+        CachedCount cached = counts.get(filterKey);
+        if (cached == null) {
+            evictIfFull();
+            CachedCount created = new CachedCount(specification);
+            cached = counts.putIfAbsent(filterKey, created);
+            if (cached == null) {
+                cached = created;
+                counter.submit(() -> refresh(created));
+            }
+        }
+        cached.lastAccess = System.currentTimeMillis();
+        if (cached.count != UNKNOWN) return cached.count;
+        // until the exact count lands the table-wide estimate stands in as an upper bound
+        return Math.max(plannerEstimate(), 0);
+    }
+
+    @Scheduled(fixedDelayString = "${app.super_wallet.history-count.refresh-ms:60000}")
+    public void refreshCounts() {
+        long idleBefore = System.currentTimeMillis() - idleMs;
+        counts.entrySet().removeIf(entry -> entry.getValue().lastAccess < idleBefore);
+        // a bounded slice per tick, stalest first, so a full cache is refreshed over several ticks
+        counts.values().stream()
+                .sorted(Comparator.comparingLong(cached -> cached.refreshedAt))
+                .limit(refreshBatchSize)
+                .toList()
+                .forEach(this::refresh);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        counter.shutdownNow();
+    }
+
+    private void refresh(CachedCount cached) {
+        cached.count = transactionRepositroy.count(cached.specification);
+        cached.refreshedAt = System.currentTimeMillis();
+    }
+
+    private long plannerEstimate() {
+        Long estimate = jdbcTemplate.queryForObject(PLANNER_ESTIMATE_SQL, Long.class);
+        return estimate != null ? estimate : UNKNOWN;
+    }
+
+    private void evictIfFull() {
+        if (counts.size() < cacheSize) return;
+        counts.entrySet().stream()
+                .min(Comparator.comparingLong(entry -> entry.getValue().lastAccess))
+                .ifPresent(eldest -> counts.remove(eldest.getKey()));
+    }
+}
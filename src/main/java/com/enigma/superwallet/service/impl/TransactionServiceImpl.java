@@ -2,38 +2,54 @@ package com.enigma.superwallet.service.impl;
 
 import com.enigma.superwallet.constant.ECurrencyCode;
 import com.enigma.superwallet.constant.ETransactionType;
+import com.enigma.superwallet.constant.LedgerAccount;
 import com.enigma.superwallet.dto.request.DepositRequest;
 import com.enigma.superwallet.dto.request.TransferRequest;
 import com.enigma.superwallet.dto.request.WithdrawalRequest;
 import com.enigma.superwallet.dto.response.*;
 import com.enigma.superwallet.entity.Account;
+import com.enigma.superwallet.entity.Customer;
+import com.enigma.superwallet.entity.Money;
 import com.enigma.superwallet.entity.TransactionHistory;
 import com.enigma.superwallet.entity.TransactionType;
+import com.enigma.superwallet.entity.WithdrawalCode;
 import com.enigma.superwallet.repository.TransactionRepositroy;
-import com.enigma.superwallet.security.JwtUtil;
+import com.enigma.superwallet.security.CurrentUser;
 import com.enigma.superwallet.service.*;
-import com.enigma.superwallet.util.ValidationUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.*;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.enigma.superwallet.mapper.TransactionsMapper.*;
 import static com.enigma.superwallet.util.WithdrawalCodeGenerator.generateUniqueWithdrawalCode;
+import static com.enigma.superwallet.util.WithdrawalCodeGenerator.mask;
 
 @Service
 @RequiredArgsConstructor
@@ -45,18 +61,28 @@ public  class TransactionServiceImpl implements TransactionsService {
     private final TransactionTypeService transactionTypeService;
     private final TransactionRepositroy transactionRepositroy;
     private final CurrencyHistoryService currencyHistoryService;
-    private final ValidationUtil util;
-    private final JwtUtil jwtUtil;
-
-    private double fee = 7000;
+    private final AccountLockService accountLockService;
+    private final TransactionTemplate transactionTemplate;
+    private final LedgerService ledgerService;
+    private final AccountDailySummaryService accountDailySummaryService;
+    private final TransactionHistoryRecorder transactionHistoryRecorder;
+    private final WithdrawalCodeService withdrawalCodeService;
+    private final TransactionHistoryCountService transactionHistoryCountService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    private static final Sort HISTORY_KEYSET_SORT = Sort.by(Sort.Order.desc("transactionDate"), Sort.Order.desc("id"));
+    private static final Sort HISTORY_EXPORT_SORT = Sort.by(Sort.Order.asc("transactionDate"), Sort.Order.asc("id"));
+    private static final String EXPORT_CSV = "csv";
+    private static final String EXPORT_CSV_HEADER = "date,transaction_type,source_account,source_name,destination_account,destination_name,currency,amount,fee,withdrawal_code\n";
+    private static final int EXPORT_FETCH_SIZE = 1000;
+    private static final long FEE = Money.majorToMinor(7000, ECurrencyCode.IDR);
 
     @Transactional
     @Override
     public DepositResponse deposit(DepositRequest depositRequest) {
         try {
-            String token = util.extractTokenFromHeader();
-
-            String customerId = jwtUtil.getUserInfoByToken(token).get("customerId");
+            String customerId = CurrentUser.get().getCustomerId();
 
             CustomerResponse customerResponse = customerService.getById(customerId);
             AccountResponse account = accountService.getById(depositRequest.getAccountId());
@@ -68,7 +94,7 @@ public  class TransactionServiceImpl implements TransactionsService {
             }
 
             String dummyBankId = depositRequest.getDummyBankId();
-            double amount = depositRequest.getAmount();
+            long amount = toMinorUnits(depositRequest.getAmount(), ECurrencyCode.IDR);
             return getDeposit(depositRequest, dummyBankId, amount, account);
         } catch (ResponseStatusException e) {
             throw e;
@@ -77,30 +103,42 @@ public  class TransactionServiceImpl implements TransactionsService {
         }
     }
 
-    private DepositResponse getDeposit(DepositRequest depositRequest, String dummyBankId, double amount, AccountResponse account) {
+    private DepositResponse getDeposit(DepositRequest depositRequest, String dummyBankId, long amount, AccountResponse account) {
         dummyBankService.reduceBalance(dummyBankId, amount);
 
-        AccountResponse updated = accountService.updateIdrAccountBalance(depositRequest.getAccountId(), amount);
+        accountService.updateIdrAccountBalance(depositRequest.getAccountId(), amount);
 
         TransactionType depositTransactionType = transactionTypeService.getOrSave(
                 TransactionType.builder().transactionType(ETransactionType.DEPOSIT).build());
 
         TransactionHistory transactionHistory =
                 mapToTransactionHistory(
-                        depositRequest.getAmount(), account, depositTransactionType, "", fee);
+                        amount, account, depositTransactionType, "", FEE);
 
-        transactionRepositroy.saveAndFlush(transactionHistory);
-        String formattedAmount = formatAmount(depositRequest.getAmount());
-        String formattedNewBalance = formatAmount(updated.getBalance());
+        transactionHistoryRecorder.record(transactionHistory);
+        ledgerService.record(transactionHistory.getId(), LedgerAccount.DEPOSIT_CLEARING, account.getId(), ECurrencyCode.IDR, amount);
+        accountDailySummaryService.record(List.of(new AccountDailySummaryService.Movement(
+                account.getId(), ECurrencyCode.IDR, ETransactionType.DEPOSIT, amount, 0, 0)));
+        String formattedAmount = Money.format(amount, ECurrencyCode.IDR);
+        String formattedNewBalance = Money.format(accountService.getCurrentBalance(account.getId()), ECurrencyCode.IDR);
 
         return mapToDepositResponse(transactionHistory, account, formattedAmount, formattedNewBalance);
     }
 
-    private String formatAmount(Double amount) {
-        if (amount % 1 == 0) {
-            return String.format("%.0f", amount);
-        } else {
-            return String.format("%.2f", amount);
+    private boolean hasSufficientBalance(AccountResponse account, long amount) {
+        // the snapshot may come from the account cache; only the atomic debit is authoritative, so a stale
+        // snapshot must never reject a payable amount
+        return account.getBalance().minorUnits() >= amount || accountService.getCurrentBalance(account.getId()) >= amount;
+    }
+
+    private long toMinorUnits(BigDecimal amount, ECurrencyCode currency) {
+        if (amount == null || amount.signum() <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Amount must be greater than zero");
+        }
+        try {
+            return Money.toMinorUnits(amount, currency);
+        } catch (ArithmeticException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid amount for currency " + currency.name());
         }
     }
 
@@ -114,7 +152,7 @@ public  class TransactionServiceImpl implements TransactionsService {
         if (sender.getAccountNumber().equals(receiver.getAccountNumber()))
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Cannot sending money to the same account number");
 
-        if (sender.getBalance() < request.getAmountTransfer())
+        if (!hasSufficientBalance(sender, toMinorUnits(request.getAmountTransfer(), sender.getBalance().currency())))
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Insufficient balance");
 
         TransactionType transactionType = transactionTypeService.getOrSave(
@@ -122,53 +160,57 @@ public  class TransactionServiceImpl implements TransactionsService {
         if (transactionType == null) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Transaction type not found");
         }
-        return getTransfer(request, sender, receiver, transactionType);
+        return accountLockService.executeWithLocks(sender.getId(), receiver.getId(), () ->
+                transactionTemplate.execute(status -> getTransfer(request, sender, receiver, transactionType)));
     }
 
     @Transactional
     @Override
     public TransferResponse getTransfer(TransferRequest request, AccountResponse sender, AccountResponse receiver, TransactionType transactionType) {
-        BigDecimal totalAmount;
-        String formattedAmount;
-        BigDecimal totalFee = BigDecimal.valueOf(0);
-        if (sender.getCurrency() == receiver.getCurrency()) {
-            fee = 0.0;
-            Double newBalanceSender = sender.getBalance() - request.getAmountTransfer() - fee;
-            accountService.updateAccountBalance(sender.getId(), newBalanceSender);
-            Double newBalanceReceiver = receiver.getBalance() + request.getAmountTransfer();
-            accountService.updateAccountBalance(receiver.getId(), newBalanceReceiver);
-
-            formattedAmount = formatAmount(request.getAmountTransfer());
+        ECurrencyCode senderCode = sender.getCurrency().getCode();
+        ECurrencyCode receiverCode = receiver.getCurrency().getCode();
+        long amount = toMinorUnits(request.getAmountTransfer(), senderCode);
+        long receivedAmount = amount;
+        long totalFee = 0;
+        if (senderCode != receiverCode) {
+            CurrencyHistoryResponse currency = currencyHistoryService.getCurrencyRate(senderCode.name(), receiverCode.name());
+            double rate = currency.getRate().doubleValue();
+            receivedAmount = Money.convert(amount, senderCode, receiverCode, rate);
+            // the fee is priced in IDR, so it needs the IDR to sender rate, not the sender to receiver one
+            totalFee = senderCode != ECurrencyCode.IDR
+                    ? Money.convert(FEE, ECurrencyCode.IDR, senderCode,
+                    currencyHistoryService.getCurrencyRate(ECurrencyCode.IDR.name(), senderCode.name()).getRate().doubleValue())
+                    : FEE;
+        }
+        // balance rows are locked in id order, the same order bulk chunks and the refund sweep use
+        if (sender.getId().compareTo(receiver.getId()) < 0) {
+            accountService.debitBalance(sender.getId(), amount + totalFee);
+            accountService.creditBalance(receiver.getId(), receivedAmount);
         } else {
-            CurrencyHistoryResponse currency = currencyHistoryService.getCurrencyRate(sender.getCurrency().getCode().toString(), receiver.getCurrency().getCode().toString());
-            Double amountTransfer = request.getAmountTransfer();
-            BigDecimal amountTransferBigDecimal = BigDecimal.valueOf(amountTransfer);
-            totalAmount = amountTransferBigDecimal.multiply(currency.getRate());
-
-            Double totalAmountDouble = totalAmount.doubleValue();
-            if (sender.getCurrency().getCode() != ECurrencyCode.IDR) {
-                BigDecimal rateNow = currency.getRate();
-                totalFee = BigDecimal.valueOf(fee).divide(rateNow, 15, RoundingMode.HALF_UP); // Divide fee by rate with specified scale and rounding mode
-            } else {
-                totalFee = BigDecimal.valueOf(fee);
-            }
-            Double newBalanceSender = sender.getBalance() - request.getAmountTransfer() - totalFee.doubleValue();
-            if (newBalanceSender < 0) {
-                throw new ResponseStatusException(HttpStatus.CONFLICT, "Insufficient balance");
-            }
-            accountService.updateAccountBalance(sender.getId(), newBalanceSender);
-            Double newBalanceReceiver = receiver.getBalance() + totalAmountDouble;
-            accountService.updateAccountBalance(receiver.getId(), newBalanceReceiver);
-
-            formattedAmount = formatAmount(totalAmountDouble);
+            accountService.creditBalance(receiver.getId(), receivedAmount);
+            accountService.debitBalance(sender.getId(), amount + totalFee);
         }
 
         TransactionHistory transactionHistory = mapToTransactionHistory
-                (request.getAmountTransfer(), sender, receiver, transactionType, "",
-                totalFee.doubleValue());
-        transactionRepositroy.saveAndFlush(transactionHistory);
+                (amount, sender, receiver, transactionType, "", totalFee);
+        transactionHistoryRecorder.record(transactionHistory);
+
+        String movementId = transactionHistory.getId();
+        if (senderCode == receiverCode) {
+            ledgerService.record(movementId, sender.getId(), receiver.getId(), senderCode, amount);
+        } else {
+            ledgerService.record(List.of(
+                    new LedgerService.Posting(movementId, sender.getId(), LedgerAccount.FX_POSITION, senderCode, amount),
+                    new LedgerService.Posting(movementId, sender.getId(), LedgerAccount.FEE_INCOME, senderCode, totalFee),
+                    new LedgerService.Posting(movementId, LedgerAccount.FX_POSITION, receiver.getId(), receiverCode, receivedAmount)));
+        }
+        ETransactionType type = transactionType.getTransactionType();
+        accountDailySummaryService.record(List.of(
+                new AccountDailySummaryService.Movement(sender.getId(), senderCode, type, 0, amount, totalFee),
+                new AccountDailySummaryService.Movement(receiver.getId(), receiverCode, type, receivedAmount, 0, 0)));
 
-        return mapToTransferResponse(sender, receiver, formattedAmount, totalFee);
+        return mapToTransferResponse(sender, receiver,
+                Money.format(receivedAmount, receiverCode), Money.format(totalFee, senderCode));
     }
 
     @Transactional
@@ -176,13 +218,12 @@ public  class TransactionServiceImpl implements TransactionsService {
     public WithdrawalResponse withdraw(WithdrawalRequest request) {
         AccountResponse account = accountService.getById(request.getAccountId());
         CustomerResponse customer = customerService.getById(account.getCustomer().getId());
-        String token = util.extractTokenFromHeader();
-
-        String customerId = jwtUtil.getUserInfoByToken(token).get("customerId");
+        String customerId = CurrentUser.get().getCustomerId();
         if (account == null)
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Account not found");
 
-        if (account.getBalance() < request.getAmount())
+        long amount = toMinorUnits(request.getAmount(), account.getBalance().currency());
+        if (!hasSufficientBalance(account, amount))
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Insufficient balance");
 
         if(!customer.getId().equals(customerId))
@@ -190,19 +231,23 @@ public  class TransactionServiceImpl implements TransactionsService {
 
         String withdrawalCode = generateUniqueWithdrawalCode();
 
-        Double newBalance = account.getBalance() - request.getAmount();
-        accountService.updateAccountBalance(account.getId(), newBalance);
+        accountService.debitBalance(account.getId(), amount);
 
         TransactionType withdrawalTransactionType = transactionTypeService.getOrSave(
                 TransactionType.builder().transactionType(ETransactionType.WITHDRAW).build());
-        double totalAmount = request.getAmount();
-        fee = 0.0;
         TransactionHistory transactionHistory =
                 mapToTransactionHistory(
-                        totalAmount, account, withdrawalTransactionType, withdrawalCode, fee);
-        transactionRepositroy.saveAndFlush(transactionHistory);
-
-        return mapToWithdrawalResponse(transactionHistory, withdrawalCode);
+                        amount, account, withdrawalTransactionType, mask(withdrawalCode), 0);
+        transactionHistoryRecorder.record(transactionHistory);
+        WithdrawalCode issuedCode = withdrawalCodeService.issue(withdrawalCode, transactionHistory.getId(),
+                account.getId(), account.getBalance().currency(), amount);
+        ledgerService.record(transactionHistory.getId(), account.getId(), LedgerAccount.WITHDRAWAL_CLEARING,
+                account.getBalance().currency(), amount);
+        accountDailySummaryService.record(List.of(new AccountDailySummaryService.Movement(
+                account.getId(), account.getBalance().currency(), ETransactionType.WITHDRAW, 0, amount, 0)));
+
+        return mapToWithdrawalResponse(transactionHistory, withdrawalCode, Money.format(amount, account.getBalance().currency()),
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(issuedCode.getExpiresAt()), ZoneId.systemDefault()));
     }
 
     @Override
@@ -211,40 +256,182 @@ public  class TransactionServiceImpl implements TransactionsService {
         return pageResult.map(this::mapToTransferHistoryResponse);
     }
 
+    @Override
+    public Slice<TransferHistoryResponse> getTransferHistoriesSlice(String name, String type, Long fromDate, Long toDate, Integer page, Integer size) {
+        return transactionRepositroy.findSlice(transactionSpecification(name, type, fromDate, toDate),
+                PageRequest.of(page, size, HISTORY_KEYSET_SORT)).map(this::mapToTransferHistoryResponse);
+    }
+
+    @Override
+    public long approximateTransferHistoryCount(String name, String type, Long fromDate, Long toDate) {
+        boolean unfiltered = (name == null || name.isEmpty()) && (type == null || type.isEmpty())
+                && fromDate == null && toDate == null;
+        if (unfiltered) {
+            return transactionHistoryCountService.estimateTotal();
+        }
+        String filterKey = String.join("|", String.valueOf(name), String.valueOf(type),
+                String.valueOf(fromDate), String.valueOf(toDate));
+        return transactionHistoryCountService.cachedCount(filterKey, transactionSpecification(name, type, fromDate, toDate));
+    }
+
+    @Override
+    public CursorPageResponse<TransferHistoryResponse> getTransferHistoriesByCursor(String name, String type, Long fromDate, Long toDate, String cursor, Integer size) {
+        Specification<TransactionHistory> specification = transactionSpecification(name, type, fromDate, toDate);
+        if (cursor != null && !cursor.isEmpty()) {
+            specification = specification.and(seekAfter(cursor));
+        }
+        Slice<TransactionHistory> slice = transactionRepositroy.findSlice(specification, PageRequest.of(0, size, HISTORY_KEYSET_SORT));
+        List<TransactionHistory> rows = slice.getContent();
+        boolean hasNext = slice.hasNext();
+        String nextCursor = hasNext ? encodeCursor(rows.get(rows.size() - 1)) : null;
+        return CursorPageResponse.<TransferHistoryResponse>builder()
+                .content(rows.stream().map(this::mapToTransferHistoryResponse).toList())
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    public Consumer<OutputStream> exportTransferHistories(String name, String type, Long fromDate, Long toDate, String format) {
+        boolean csv = EXPORT_CSV.equalsIgnoreCase(format);
+        if (fromDate != null && toDate != null && fromDate > toDate) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "fromDate must not be after toDate");
+        }
+        Specification<TransactionHistory> specification = transactionSpecification(name, type, fromDate, toDate);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        return outputStream -> readOnly.executeWithoutResult(status -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+            try (Stream<TransactionHistory> rows = transactionRepositroy.streamAll(specification, HISTORY_EXPORT_SORT, EXPORT_FETCH_SIZE)) {
+                if (csv) writer.write(EXPORT_CSV_HEADER);
+                int written = 0;
+                for (TransactionHistory row : (Iterable<TransactionHistory>) rows::iterator) {
+                    TransferHistoryResponse response = mapToTransferHistoryResponse(row);
+                    writer.write(csv ? toCsvLine(response) : objectMapper.writeValueAsString(response) + "\n");
+                    // the stream keeps every loaded entity managed, so drop them to keep memory flat
+                    if (++written % EXPORT_FETCH_SIZE == 0) {
+                        entityManager.clear();
+                        writer.flush();
+                    }
+                }
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private String toCsvLine(TransferHistoryResponse response) {
+        TransferHistoryDetailsResponse source = response.getSource();
+        TransferHistoryDetailsResponse destination = response.getDestination();
+        return String.join(",",
+                csvField(response.getDate().toString()),
+                csvField(response.getTransactionType()),
+                csvField(source.getAccountNumber()),
+                csvField(source.getFirstName() + " " + source.getLastName()),
+                csvField(destination.getAccountNumber()),
+                csvField(destination.getFirstName() + " " + destination.getLastName()),
+                csvField(source.getCurrencyCode()),
+                csvField(response.getTotalAmount()),
+                csvField(response.getTotalFee().toPlainString()),
+                csvField(response.getWithdrawalCode())) + "\n";
+    }
+
+    private String csvField(String value) {
+        if (value == null) return "";
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private Specification<TransactionHistory> seekAfter(String cursor) {
+        String[] position = decodeCursor(cursor);
+        long transactionDate = Long.parseLong(position[0]);
+        String id = position[1];
+        // the leading date bound keeps the predicate a range scan on idx_transaction_history_date_id
+        return (root, query, criteriaBuilder) -> criteriaBuilder.and(
+                criteriaBuilder.lessThanOrEqualTo(root.get("transactionDate"), transactionDate),
+                criteriaBuilder.or(
+                        criteriaBuilder.lessThan(root.get("transactionDate"), transactionDate),
+                        criteriaBuilder.lessThan(root.get("id"), id)));
+    }
+
+    private String encodeCursor(TransactionHistory last) {
+        String position = last.getTransactionDate() + ":" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 2);
+            Long.parseLong(position[0]);
+            if (position.length != 2 || position[1].isEmpty()) throw new IllegalArgumentException();
+            return position;
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
 
 
     private Specification<TransactionHistory> transactionSpecification(String name, String type, Long fromDate, Long toDate) {
+        ETransactionType transactionType = parseTransactionType(type);
+        String namePattern = name != null && !name.isBlank()
+                ? "%" + escapeLike(name.trim().toLowerCase()) + "%"
+                : null;
         return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
-            if (name != null && !name.isEmpty()) {
-                predicates.add(criteriaBuilder.like(root.get("sourceAccount").get("customer").get("firstName"), "%" + name + "%"));
+            if (namePattern != null) {
+                // resolve the few matching accounts first (trigram indexes on m_customer),
+                // then seek idx_transaction_history_source_date instead of joining every history row
+                Subquery<String> accounts = query.subquery(String.class);
+                Root<Account> account = accounts.from(Account.class);
+                Join<Account, Customer> customer = account.join("customer");
+                accounts.select(account.get("id")).where(criteriaBuilder.or(
+                        criteriaBuilder.like(criteriaBuilder.lower(customer.get("firstName")), namePattern, '\\'),
+                        criteriaBuilder.like(criteriaBuilder.lower(customer.get("lastName")), namePattern, '\\')));
+                predicates.add(root.get("sourceAccount").get("id").in(accounts));
             }
-            if (type != null && !type.isEmpty()) {
-                predicates.add(criteriaBuilder.equal(root.get("transactionType").get("type"), type));
+            if (transactionType != null) {
+                predicates.add(criteriaBuilder.equal(root.get("transactionType").get("transactionType"), transactionType));
             }
             if (fromDate != null) {
-                LocalDateTime fromDateTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(fromDate), ZoneId.systemDefault());
-                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("transactionDate"), fromDateTime));
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("transactionDate"), fromDate));
             }
             if (toDate != null) {
-                LocalDateTime toDateTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(toDate), ZoneId.systemDefault());
-                predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get("transactionDate"), toDateTime));
+                predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get("transactionDate"), toDate));
             }
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
 
+    private ETransactionType parseTransactionType(String type) {
+        if (type == null || type.isBlank()) return null;
+        try {
+            return ETransactionType.valueOf(type.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid transaction type");
+        }
+    }
+
+    private String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
     private TransferHistoryResponse mapToTransferHistoryResponse(TransactionHistory transactionHistory) {
         LocalDateTime transactionDate =
                 LocalDateTime.ofInstant(Instant.ofEpochMilli
                         (transactionHistory.getTransactionDate()), ZoneId.systemDefault());
+        ECurrencyCode currencyCode = transactionHistory.getSourceAccount().getCurrency().getCode();
 
         return TransferHistoryResponse.builder()
                 .source(mapToTransferHistoryDetailsResponse(transactionHistory.getSourceAccount()))
                 .destination(mapToTransferHistoryDetailsResponse(transactionHistory.getDestinationAccount()))
                 .transactionType(transactionHistory.getTransactionType().getTransactionType().name())
-                .totalAmount(transactionHistory.getAmount().toString())
-                .totalFee(BigDecimal.valueOf(transactionHistory.getFee()))
+                .totalAmount(Money.format(transactionHistory.getAmount(), currencyCode))
+                .totalFee(Money.toBigDecimal(transactionHistory.getFee(), currencyCode))
                 .date(transactionDate)
                 .withdrawalCode(transactionHistory.getWithdrawalCode())
                 .build();
@@ -1,17 +1,16 @@
 package com.enigma.superwallet.service.impl;
 
 import com.enigma.superwallet.entity.TransactionType;
-import com.enigma.superwallet.repository.TransactionTypeRepository;
+import com.enigma.superwallet.service.ReferenceDataRegistry;
 import com.enigma.superwallet.service.TransactionTypeService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class TransactionTypeServiceImpl implements TransactionTypeService {
-    private final TransactionTypeRepository transactionTypeRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
 
     @Override
     public TransactionType getTransactionTypeById(String id) {
@@ -20,10 +19,6 @@ public class TransactionTypeServiceImpl implements TransactionTypeService {
 
     @Override
     public TransactionType getOrSave(TransactionType type) {
-        Optional<TransactionType> optionalType = transactionTypeRepository.findByTransactionType(type.getTransactionType());
-        if (!optionalType.isEmpty()) {
-            return optionalType.get();
-        }
-        return transactionTypeRepository.save(type);
+        return referenceDataRegistry.transactionType(type.getTransactionType());
     }
 }
@@ -45,6 +45,17 @@ public class UserCredentialServiceImpl implements UserCredentialService {
         return null;
     }
 
+    // called by the authentication provider after a successful login whose hash is below the configured BCrypt cost
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        AppUser appUser = (AppUser) user;
+        userCredentialRepository.findById(appUser.getId()).ifPresent(userCredential -> {
+            userCredential.setPassword(newPassword);
+            userCredentialRepository.save(userCredential);
+        });
+        return appUser.toBuilder().password(newPassword).build();
+    }
+
     @Override
     public boolean isSuperAdminExists(ERole roleName) {
         return userCredentialRepository.existsByRole_RoleName(roleName);
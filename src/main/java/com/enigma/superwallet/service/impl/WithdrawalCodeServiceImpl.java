@@ -0,0 +1,157 @@
+package com.enigma.superwallet.service.impl;
+
+import com.enigma.superwallet.constant.ECurrencyCode;
+import com.enigma.superwallet.constant.ETransactionType;
+import com.enigma.superwallet.constant.EWithdrawalCodeStatus;
+import com.enigma.superwallet.constant.LedgerAccount;
+import com.enigma.superwallet.dto.response.WithdrawalRedemptionResponse;
+import com.enigma.superwallet.entity.Money;
+import com.enigma.superwallet.entity.WithdrawalCode;
+import com.enigma.superwallet.repository.WithdrawalCodeRepository;
+import com.enigma.superwallet.service.AccountDailySummaryService;
+import com.enigma.superwallet.service.AccountService;
+import com.enigma.superwallet.service.LedgerService;
+import com.enigma.superwallet.service.WithdrawalCodeService;
+import com.enigma.superwallet.util.WithdrawalCodeGenerator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+@Service
+@RequiredArgsConstructor
+public class WithdrawalCodeServiceImpl implements WithdrawalCodeService {
+
+    // SKIP LOCKED lets several nodes sweep at once; RETURNING yields exactly the rows this statement expired
+    private static final String EXPIRE_BATCH_SQL =
+            "UPDATE t_withdrawal_code SET status = 'EXPIRED', closed_at = ? WHERE id IN (" +
+                    "SELECT id FROM t_withdrawal_code WHERE status = 'ISSUED' AND expires_at <= ? " +
+                    "ORDER BY expires_at LIMIT ? FOR UPDATE SKIP LOCKED) " +
+                    "RETURNING transaction_id, account_id, currency, amount";
+    private static final String REFUND_BALANCE_SQL =
+            "UPDATE m_account SET balance = balance + ?, updated_at = ? WHERE id = ?";
+
+    private final WithdrawalCodeRepository withdrawalCodeRepository;
+    private final AccountService accountService;
+    private final LedgerService ledgerService;
+    private final AccountDailySummaryService accountDailySummaryService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.super_wallet.withdrawal-code.ttl-minutes:1440}")
+    private long ttlMinutes;
+    @Value("${app.super_wallet.withdrawal-code.sweep-batch-size:500}")
+    private int sweepBatchSize;
+
+    private record ExpiredCode(String transactionId, String accountId, ECurrencyCode currency, long amount) {
+    }
+
+    @Override
+    public WithdrawalCode issue(String code, String transactionId, String accountId, ECurrencyCode currency, long amount) {
+        long now = Instant.now().toEpochMilli();
+        return withdrawalCodeRepository.save(WithdrawalCode.builder()
+                .codeHash(hash(code))
+                .transactionId(transactionId)
+                .accountId(accountId)
+                .currency(currency)
+                .amount(amount)
+                .status(EWithdrawalCodeStatus.ISSUED)
+                .createdAt(now)
+                .expiresAt(now + ttlMinutes * 60_000)
+                .build());
+    }
+
+    @Override
+    @Transactional
+    public WithdrawalRedemptionResponse redeem(String code) {
+        if (code == null || code.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Withdrawal code is required");
+        }
+        String codeHash = hash(WithdrawalCodeGenerator.normalize(code));
+        long now = Instant.now().toEpochMilli();
+        // the status check and the update are one statement, so two tellers racing on a code cannot both win
+        int redeemed = withdrawalCodeRepository.redeem(codeHash, now,
+                EWithdrawalCodeStatus.ISSUED, EWithdrawalCodeStatus.REDEEMED);
+        WithdrawalCode withdrawalCode = withdrawalCodeRepository.findByCodeHash(codeHash)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Withdrawal code not found"));
+        if (redeemed == 0) {
+            if (withdrawalCode.getStatus() == EWithdrawalCodeStatus.REDEEMED) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Withdrawal code has already been redeemed");
+            }
+            throw new ResponseStatusException(HttpStatus.GONE, "Withdrawal code has expired");
+        }
+        return WithdrawalRedemptionResponse.builder()
+                .transactionId(withdrawalCode.getTransactionId())
+                .accountId(withdrawalCode.getAccountId())
+                .totalAmount(Money.format(withdrawalCode.getAmount(), withdrawalCode.getCurrency()))
+                .redeemedAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(now), ZoneId.systemDefault()))
+                .build();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.super_wallet.withdrawal-code.sweep-interval-ms:60000}")
+    public int expireStaleCodes() {
+        int total = 0;
+        while (true) {
+            Integer expired = transactionTemplate.execute(status -> expireBatch());
+            if (expired == null || expired == 0) return total;
+            total += expired;
+            if (expired < sweepBatchSize) return total;
+        }
+    }
+
+    private int expireBatch() {
+        long now = Instant.now().toEpochMilli();
+        List<ExpiredCode> expired = jdbcTemplate.query(EXPIRE_BATCH_SQL, (rs, rowNum) -> new ExpiredCode(
+                rs.getString("transaction_id"), rs.getString("account_id"),
+                ECurrencyCode.valueOf(rs.getString("currency")), rs.getLong("amount")), now, now, sweepBatchSize);
+        if (expired.isEmpty()) return 0;
+
+        // TreeMap keeps the balance row locks in id order, the order bulk chunks and single transfers use;
+        // withdrawals only ever lock their own account row
+        Map<String, Long> refunds = new TreeMap<>();
+        List<LedgerService.Posting> postings = new ArrayList<>(expired.size());
+        List<AccountDailySummaryService.Movement> movements = new ArrayList<>(expired.size());
+        for (ExpiredCode code : expired) {
+            refunds.merge(code.accountId(), code.amount(), Long::sum);
+            postings.add(new LedgerService.Posting(code.transactionId(), LedgerAccount.WITHDRAWAL_CLEARING,
+                    code.accountId(), code.currency(), code.amount()));
+            movements.add(new AccountDailySummaryService.Movement(code.accountId(), code.currency(),
+                    ETransactionType.WITHDRAWAL_REFUND, code.amount(), 0, 0));
+        }
+        refunds.keySet().forEach(accountService::invalidate);
+        Timestamp updatedAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(REFUND_BALANCE_SQL, new ArrayList<>(refunds.entrySet()), refunds.size(),
+                (ps, refund) -> {
+                    ps.setLong(1, refund.getValue());
+                    ps.setTimestamp(2, updatedAt);
+                    ps.setString(3, refund.getKey());
+                });
+        ledgerService.record(postings);
+        accountDailySummaryService.record(movements);
+        return expired.size();
+    }
+
+    private String hash(String code) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(code.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.enigma.superwallet.util;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RFC 9562 version 7 UUIDs: 48 bits of Unix milliseconds followed by random bits, so keys generated
+ * close together land next to each other in a B-tree index. The 12-bit rand_a field is used as a
+ * counter within the same millisecond, which keeps ids from this JVM strictly increasing.
+ */
+public class UuidV7 {
+
+    // (unix millis << 12) | counter of the last id handed out
+    private static final AtomicLong LAST = new AtomicLong();
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        long stamp = LAST.updateAndGet(last -> Math.max(now, last + 1));
+        long millis = stamp >>> 12;
+        long counter = stamp & 0xFFF;
+
+        long mostSigBits = (millis << 16) | 0x7000L | counter;
+        long leastSigBits = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    public static String generate() {
+        return next().toString();
+    }
+}
@@ -1,15 +1,51 @@
 package com.enigma.superwallet.util;
-import java.util.UUID;
+
+import java.security.SecureRandom;
 
 public class WithdrawalCodeGenerator {
 
+    // Crockford base32: no I, L, O or U, so codes survive being read out or typed in at a counter
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int CODE_LENGTH = 16;
+    private static final int VISIBLE_SUFFIX = 4;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    /**
+     * 80 random bits as 16 base32 characters, drawn straight from two longs into a single char[].
+     */
     public static String generateUniqueWithdrawalCode() {
-        UUID uuid = UUID.randomUUID();
-        // Convert UUID to a string and remove hyphens
-        String withdrawalCode = uuid.toString().replaceAll("-", "");
-        // Truncate the string to a desired length (e.g., 10 characters)
-        withdrawalCode = withdrawalCode.substring(0, Math.min(withdrawalCode.length(), 20));
+        char[] code = new char[CODE_LENGTH];
+        long bits = RANDOM.nextLong();
+        for (int i = 0; i < CODE_LENGTH; i++) {
+            if (i == 12) bits = RANDOM.nextLong();
+            code[i] = ALPHABET[(int) (bits & 31)];
+            bits >>>= 5;
+        }
+        return new String(code);
+    }
+
+    /**
+     * Crockford decoding: case and hyphens do not matter, and the lookalikes O, I and L read as 0, 1 and 1.
+     */
+    public static String normalize(String withdrawalCode) {
+        StringBuilder normalized = new StringBuilder(withdrawalCode.length());
+        for (char c : withdrawalCode.toCharArray()) {
+            if (c == '-' || Character.isWhitespace(c)) continue;
+            char upper = Character.toUpperCase(c);
+            normalized.append(switch (upper) {
+                case 'O' -> '0';
+                case 'I', 'L' -> '1';
+                default -> upper;
+            });
+        }
+        return normalized.toString();
+    }
 
-        return withdrawalCode;
+    public static String mask(String withdrawalCode) {
+        char[] masked = withdrawalCode.toCharArray();
+        for (int i = 0; i < masked.length - VISIBLE_SUFFIX; i++) {
+            masked[i] = '*';
+        }
+        return new String(masked);
     }
 }
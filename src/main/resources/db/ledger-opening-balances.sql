@@ -0,0 +1,27 @@
+-- Seeds the ledger on a database whose balances predate it, so LedgerService.rebuildBalance reproduces
+-- m_account.balance instead of resetting it. For every account the difference between the stored balance
+-- and what its ledger entries already sum to is posted once against SYSTEM:OPENING_BALANCE.
+-- Run with the application stopped; running it again posts nothing because the difference is then zero.
+BEGIN;
+
+WITH opening AS (
+    SELECT a.id::text AS account_ref,
+           c.code AS currency,
+           a.balance - COALESCE((SELECT SUM(CASE WHEN e.direction = 'CREDIT' THEN e.amount ELSE -e.amount END)
+                                 FROM t_ledger_entry e
+                                 WHERE e.account_ref = a.id::text AND e.currency = c.code), 0) AS amount,
+           gen_random_uuid()::text AS movement_id
+    FROM m_account a
+    JOIN m_currency c ON c.id = a.currency_id
+)
+INSERT INTO t_ledger_entry (id, movement_id, account_ref, currency, direction, amount, created_at, tx_id)
+SELECT gen_random_uuid()::text, o.movement_id, posting.account_ref, o.currency, posting.direction, abs(o.amount),
+       (extract(epoch FROM now()) * 1000)::bigint, pg_current_xact_id()::text::bigint
+FROM opening o
+CROSS JOIN LATERAL (VALUES
+    (o.account_ref, CASE WHEN o.amount > 0 THEN 'CREDIT' ELSE 'DEBIT' END),
+    ('SYSTEM:OPENING_BALANCE', CASE WHEN o.amount > 0 THEN 'DEBIT' ELSE 'CREDIT' END)
+) AS posting(account_ref, direction)
+WHERE o.amount <> 0;
+
+COMMIT;
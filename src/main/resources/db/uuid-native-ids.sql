@@ -0,0 +1,44 @@
+-- Converts the varchar ids of m_account and t_transaction_history (and the columns referencing them)
+-- to native uuid on an existing PostgreSQL database. Existing random v4 ids are valid uuids and keep
+-- their values; new rows get time-ordered v7 ids from the application.
+-- The datasource URL must carry stringtype=unspecified so String ids bind to the uuid columns.
+BEGIN;
+
+CREATE TEMP TABLE uuid_fk_backup ON COMMIT DROP AS
+SELECT conrelid::regclass AS table_name, conname, pg_get_constraintdef(oid) AS definition
+FROM pg_constraint
+WHERE contype = 'f'
+  AND conparentid = 0
+  AND confrelid IN ('m_account'::regclass, 't_transaction_history'::regclass);
+
+DO $$
+DECLARE
+    fk record;
+BEGIN
+    FOR fk IN SELECT * FROM uuid_fk_backup LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', fk.table_name, fk.conname);
+    END LOOP;
+END $$;
+
+ALTER TABLE m_account
+    ALTER COLUMN id TYPE uuid USING id::uuid;
+
+-- on a partitioned table this rewrites every partition
+ALTER TABLE t_transaction_history
+    ALTER COLUMN id TYPE uuid USING id::uuid,
+    ALTER COLUMN source_account_id TYPE uuid USING source_account_id::uuid,
+    ALTER COLUMN destination_account_id TYPE uuid USING destination_account_id::uuid;
+
+DO $$
+DECLARE
+    fk record;
+BEGIN
+    FOR fk IN SELECT * FROM uuid_fk_backup LOOP
+        EXECUTE format('ALTER TABLE %s ADD CONSTRAINT %I %s', fk.table_name, fk.conname, fk.definition);
+    END LOOP;
+END $$;
+
+ANALYZE m_account;
+ANALYZE t_transaction_history;
+
+COMMIT;
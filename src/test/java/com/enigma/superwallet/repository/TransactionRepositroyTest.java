@@ -0,0 +1,134 @@
+package com.enigma.superwallet.repository;
+
+import com.enigma.superwallet.constant.ECurrencyCode;
+import com.enigma.superwallet.constant.ERole;
+import com.enigma.superwallet.constant.ETransactionType;
+import com.enigma.superwallet.constant.Gender;
+import com.enigma.superwallet.entity.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+class TransactionRepositroyTest {
+
+    private static final int HISTORY_ROWS = 40;
+
+    @Autowired
+    private TransactionRepositroy transactionRepositroy;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Currency currency = persist(Currency.builder().code(ECurrencyCode.IDR).name(ECurrencyCode.IDR.currencyName).build());
+        Role role = persist(Role.builder().roleName(ERole.ROLE_CUSTOMER).build());
+        TransactionType transfer = persist(TransactionType.builder().transactionType(ETransactionType.TRANSFER).build());
+        Account[] accounts = new Account[4];
+        for (int i = 0; i < accounts.length; i++) {
+            UserCredential credential = persist(UserCredential.builder().email("user" + i + "@mail.com").role(role).build());
+            Customer customer = persist(Customer.builder()
+                    .createdAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .phoneNumber("0812000000" + i)
+                    .birthDate(LocalDate.of(2000, 1, 1))
+                    .gender(Gender.MALE)
+                    .address("Address " + i)
+                    .isActive(true)
+                    .userCredential(credential)
+                    .build());
+            accounts[i] = persist(Account.builder()
+                    .createdAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .currency(currency)
+                    .accountNumber("100000000" + i)
+                    .balance(0L)
+                    .customer(customer)
+                    .build());
+        }
+        for (int i = 0; i < HISTORY_ROWS; i++) {
+            persist(TransactionHistory.builder()
+                    .transactionDate(1_700_000_000_000L + i)
+                    .sourceAccount(accounts[i % accounts.length])
+                    .destinationAccount(accounts[(i + 1) % accounts.length])
+                    .amount(1000L + i)
+                    .transactionType(transfer)
+                    .fee(0L)
+                    .withdrawalCode("")
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void pageIsLoadedWithQueryAndCount() {
+        for (int size : new int[]{5, HISTORY_ROWS / 2}) {
+            assertEquals(2, statementsForPage(size));
+        }
+    }
+
+    @Test
+    void sliceIsLoadedWithSingleStatement() {
+        for (int size : new int[]{5, HISTORY_ROWS / 2}) {
+            entityManager.clear();
+            statistics.clear();
+            List<TransactionHistory> rows = transactionRepositroy.findSlice(Specification.where(null),
+                    PageRequest.of(0, size, Sort.by(Sort.Order.desc("transactionDate"), Sort.Order.desc("id")))).getContent();
+            touchDetails(rows);
+            assertEquals(size, rows.size());
+            assertEquals(1, statistics.getPrepareStatementCount());
+        }
+    }
+
+    private long statementsForPage(int size) {
+        entityManager.clear();
+        statistics.clear();
+        List<TransactionHistory> rows = transactionRepositroy.findAll(Specification.where(null), PageRequest.of(0, size)).getContent();
+        touchDetails(rows);
+        assertEquals(size, rows.size());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void touchDetails(List<TransactionHistory> rows) {
+        for (TransactionHistory row : rows) {
+            for (Account account : new Account[]{row.getSourceAccount(), row.getDestinationAccount()}) {
+                account.getCustomer().getFirstName();
+                account.getCustomer().getUserCredential().getRole().getRoleName();
+                account.getCurrency().getCode();
+            }
+            row.getTransactionType().getTransactionType();
+        }
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
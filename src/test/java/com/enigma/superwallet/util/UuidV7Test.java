@@ -0,0 +1,30 @@
+package com.enigma.superwallet.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UuidV7Test {
+
+    @Test
+    void idsAreVersion7AndStrictlyIncreasing() {
+        UUID previous = UuidV7.next();
+        for (int i = 0; i < 100_000; i++) {
+            UUID current = UuidV7.next();
+            assertEquals(7, current.version());
+            assertEquals(2, current.variant());
+            assertTrue(previous.toString().compareTo(current.toString()) < 0);
+            previous = current;
+        }
+    }
+
+    @Test
+    void timestampIsUnixMillis() {
+        long before = System.currentTimeMillis();
+        long millis = UuidV7.next().getMostSignificantBits() >>> 16;
+        assertTrue(millis >= before && millis <= System.currentTimeMillis() + 1000);
+    }
+}